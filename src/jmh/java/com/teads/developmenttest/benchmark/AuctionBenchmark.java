@@ -0,0 +1,104 @@
+package com.teads.developmenttest.benchmark;
+
+import com.teads.developmenttest.engine.AuctionEngine;
+import com.teads.developmenttest.engine.EvaluationCache;
+import com.teads.developmenttest.engine.ReserveSweep;
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.util.AuctionReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuctionBenchmark {
+
+    @Param({"1000"})
+    private int auctions;
+    @Param({"10", "1000"})
+    private int bidders;
+    @Param({"5"})
+    private int bids;
+
+    private List<Auction> auctionsList;
+    private AuctionEngine engine;
+    // the same auctions read by the parser, which hashes them for the cache
+    private List<Auction> parsedAuctions;
+    // holds the outcomes of all the auctions, each evaluation through it is a hit
+    private EvaluationCache cache;
+    private AuctionEngine cachedEngine;
+    private final int[] sweepReservePrices = ReserveSweep.range(0, 999, 1);
+
+    @Setup
+    public void setUp() throws IOException {
+        AuctionDataGenerator generator = new AuctionDataGenerator(auctions, bidders, bids, 42);
+        auctionsList = generator.generateAuctions();
+        parsedAuctions = new ArrayList<>();
+        try (AuctionReader reader = new AuctionReader("generated", new StringReader(generator.generateText()))) {
+            reader.forEachRemaining(parsedAuctions::add);
+        }
+        engine = new AuctionEngine(Runtime.getRuntime().availableProcessors());
+        cache = new EvaluationCache(auctions);
+        cachedEngine = new AuctionEngine(Runtime.getRuntime().availableProcessors(), cache);
+        cachedEngine.evaluateAll(parsedAuctions);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+        cachedEngine.close();
+    }
+
+    @Benchmark
+    public void calculateAuctionResult(Blackhole blackhole) {
+        for (Auction auction : auctionsList) {
+            try {
+                blackhole.consume(auction.calculateAuctionResult());
+            } catch (FunctionalException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        for (Auction auction : auctionsList) {
+            blackhole.consume(auction.evaluate());
+        }
+    }
+
+    @Benchmark
+    public void evaluateCacheHits(Blackhole blackhole) {
+        for (Auction auction : parsedAuctions) {
+            blackhole.consume(cache.evaluate(auction));
+        }
+    }
+
+    @Benchmark
+    public void sweep1000ReservePrices(Blackhole blackhole) {
+        for (Auction auction : auctionsList) {
+            blackhole.consume(ReserveSweep.of(auction, sweepReservePrices));
+        }
+    }
+
+    @Benchmark
+    public List<AuctionOutcome> evaluateAllInParallel() {
+        return engine.evaluateAll(auctionsList);
+    }
+
+    @Benchmark
+    public List<AuctionOutcome> evaluateAllInParallelCacheHits() {
+        return cachedEngine.evaluateAll(parsedAuctions);
+    }
+}
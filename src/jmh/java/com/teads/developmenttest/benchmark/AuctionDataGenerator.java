@@ -0,0 +1,83 @@
+package com.teads.developmenttest.benchmark;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.Bidder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.teads.developmenttest.util.ReaderUtil.SEPARATOR;
+
+// Synthetic inputs of auctionCount auctions of bidderCount bidders having bidCount bids each
+public class AuctionDataGenerator {
+    private final int auctionCount;
+    private final int bidderCount;
+    private final int bidCount;
+    private final long seed;
+
+    public AuctionDataGenerator(int auctionCount, int bidderCount, int bidCount, long seed) {
+        this.auctionCount = auctionCount;
+        this.bidderCount = bidderCount;
+        this.bidCount = bidCount;
+        this.seed = seed;
+    }
+
+    public String generateText() {
+        StringWriter writer = new StringWriter();
+        write(writer);
+        return writer.toString();
+    }
+
+    public Path generateFile() throws IOException {
+        Path file = Files.createTempFile("auctions", ".txt");
+        file.toFile().deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            write(writer);
+        }
+        return file;
+    }
+
+    public List<Auction> generateAuctions() {
+        Random random = new Random(seed);
+        List<Auction> auctions = new ArrayList<>(auctionCount);
+        for (int i = 0; i < auctionCount; i++) {
+            List<Bidder> bidders = new ArrayList<>(bidderCount);
+            int reservePrice = random.nextInt(1000);
+            for (int j = 0; j < bidderCount; j++) {
+                Bidder bidder = new Bidder("bidder" + j, List.of());
+                for (int k = 0; k < bidCount; k++) {
+                    bidder.addBid(random.nextInt(10_000));
+                }
+                bidders.add(bidder);
+            }
+            auctions.add(new Auction("auction" + i, reservePrice, bidders));
+        }
+        return auctions;
+    }
+
+    private void write(Writer writer) {
+        try {
+            for (Auction auction : generateAuctions()) {
+                writer.write(auction.getName() + ": " + auction.getReservePrice() + "\n");
+                for (Bidder bidder : auction.getBidders()) {
+                    writer.write(bidder.getName() + ":");
+                    for (int k = 0; k < bidder.getBidCount(); k++) {
+                        writer.write((k == 0 ? " " : ", ") + bidder.getBid(k));
+                    }
+                    writer.write("\n");
+                }
+                writer.write(SEPARATOR + "\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
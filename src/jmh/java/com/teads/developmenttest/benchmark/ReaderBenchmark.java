@@ -0,0 +1,139 @@
+package com.teads.developmenttest.benchmark;
+
+import com.teads.developmenttest.binary.BinaryAuctionConverter;
+import com.teads.developmenttest.binary.BinaryAuctionLoader;
+import com.teads.developmenttest.engine.AuctionPipeline;
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.output.ResultFormat;
+import com.teads.developmenttest.output.ResultSink;
+import com.teads.developmenttest.output.WriterResultSink;
+import com.teads.developmenttest.store.OffHeapAuctionStore;
+import com.teads.developmenttest.util.AuctionReader;
+import com.teads.developmenttest.util.MappedAuctionReader;
+import com.teads.developmenttest.util.ParallelAuctionParser;
+import com.teads.developmenttest.util.ReaderUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReaderBenchmark {
+
+    @Param({"1000"})
+    private int auctions;
+    @Param({"10"})
+    private int bidders;
+    @Param({"5"})
+    private int bids;
+
+    private Path file;
+    private Path binaryFile;
+    private String filePath;
+    private String input;
+    private List<List<String>> auctionDefinitions;
+    private OffHeapAuctionStore offHeapStore;
+
+    @Setup
+    public void setUp() throws IOException {
+        AuctionDataGenerator generator = new AuctionDataGenerator(auctions, bidders, bids, 42);
+        file = generator.generateFile();
+        filePath = file.toString();
+        input = ReaderUtil.readInput(filePath);
+        auctionDefinitions = ReaderUtil.validateAndFormatInput(input);
+        binaryFile = Files.createTempFile("auctions", ".aucb");
+        binaryFile.toFile().deleteOnExit();
+        try (AuctionReader reader = AuctionReader.open(filePath)) {
+            BinaryAuctionConverter.convert(reader, binaryFile);
+        }
+        try (AuctionReader reader = AuctionReader.open(filePath)) {
+            offHeapStore = OffHeapAuctionStore.of(reader);
+        }
+    }
+
+    @Benchmark
+    public String readInput() throws IOException {
+        return ReaderUtil.readInput(filePath);
+    }
+
+    @Benchmark
+    public List<List<String>> validateAndFormatInput() {
+        return ReaderUtil.validateAndFormatInput(input);
+    }
+
+    @Benchmark
+    public List<Auction> convertToEntityList() {
+        return ReaderUtil.convertToEntityList(auctionDefinitions);
+    }
+
+    @Benchmark
+    public void streamingReader(Blackhole blackhole) throws IOException {
+        try (AuctionReader reader = AuctionReader.open(filePath)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public void streamingEvaluation() throws IOException {
+        try (AuctionReader reader = AuctionReader.open(filePath);
+             ResultSink sink = new WriterResultSink(Writer.nullWriter(), ResultFormat.TEXT)) {
+            while (reader.hasNext()) {
+                sink.write(reader.next().evaluate());
+            }
+        }
+    }
+
+    @Benchmark
+    public void pipelineEvaluation() throws IOException {
+        try (AuctionReader reader = AuctionReader.open(filePath);
+             ResultSink sink = new WriterResultSink(Writer.nullWriter(), ResultFormat.TEXT);
+             AuctionPipeline pipeline = new AuctionPipeline(Runtime.getRuntime().availableProcessors())) {
+            pipeline.run(reader, sink);
+        }
+    }
+
+    @Benchmark
+    public void mappedReader(Blackhole blackhole) throws IOException {
+        try (MappedAuctionReader reader = new MappedAuctionReader(file)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Auction> parallelParser() throws IOException {
+        return ParallelAuctionParser.parse(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Benchmark
+    public void binaryLoader(Blackhole blackhole) throws IOException {
+        try (BinaryAuctionLoader loader = new BinaryAuctionLoader(binaryFile)) {
+            loader.iterator().forEachRemaining(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void offHeapEvaluation(Blackhole blackhole) {
+        offHeapStore.evaluateAll(blackhole::consume);
+    }
+
+    @Benchmark
+    public void binaryEvaluation(Blackhole blackhole) throws IOException {
+        try (BinaryAuctionLoader loader = new BinaryAuctionLoader(binaryFile)) {
+            loader.evaluateAll(blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.teads.developmenttest.binary;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.Bidder;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.teads.developmenttest.binary.BinaryAuctionFormat.*;
+
+// Writes auctions read with the text grammar to the binary format, bidder names are written once in a dictionary
+public class BinaryAuctionConverter {
+
+    // the file is written next to the output and moved in place once complete, a malformed auction leaves the output as it was.
+    // The auction names are written to a file of their own meanwhile and appended once the auctions are written
+    public static int convert(Iterator<Auction> auctions, Path output) throws IOException {
+        Path directory = output.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, output.getFileName().toString(), ".tmp");
+        Path auctionNames = Files.createTempFile(directory, output.getFileName().toString(), ".names.tmp");
+        try {
+            int auctionCount = write(auctions, temporary, auctionNames);
+            try {
+                Files.move(temporary, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return auctionCount;
+        } finally {
+            Files.deleteIfExists(temporary);
+            Files.deleteIfExists(auctionNames);
+        }
+    }
+
+    private static int write(Iterator<Auction> auctions, Path output, Path auctionNames) throws IOException {
+        Map<String, Integer> nameIds = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        long[] offsets = new long[1024];
+        int auctionCount = 0;
+        long position = 0;
+        long auctionNamesSize = 0;
+
+        try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output), 64 * 1024));
+             DataOutputStream namesStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(auctionNames), 64 * 1024))) {
+            stream.writeInt(MAGIC);
+            stream.writeByte(VERSION);
+            position += HEADER_SIZE;
+
+            while (auctions.hasNext()) {
+                Auction auction = auctions.next();
+                if (auctionCount == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, auctionCount * 2);
+                }
+                offsets[auctionCount++] = position;
+                position += writeVarLong(stream, auctionNamesSize);
+                byte[] name = auction.getName().getBytes(StandardCharsets.UTF_8);
+                auctionNamesSize += writeVarInt(namesStream, name.length);
+                namesStream.write(name);
+                auctionNamesSize += name.length;
+                position += writeSignedVarInt(stream, auction.getReservePrice());
+                position += writeVarInt(stream, auction.getBidders().size());
+                for (Bidder bidder : auction.getBidders()) {
+                    position += writeVarInt(stream, nameId(bidder.getName(), nameIds, names));
+                    position += writeVarInt(stream, bidder.getBidCount());
+                    for (int i = 0; i < bidder.getBidCount(); i++) {
+                        position += writeSignedVarInt(stream, bidder.getBid(i));
+                    }
+                }
+            }
+
+            long bidderNamesOffset = position;
+            position += writeVarInt(stream, names.size());
+            for (String name : names) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                position += writeVarInt(stream, bytes.length);
+                stream.write(bytes);
+                position += bytes.length;
+            }
+
+            long auctionNamesOffset = position;
+            namesStream.close();
+            Files.copy(auctionNames, stream);
+            position += auctionNamesSize;
+
+            long indexOffset = position;
+            for (int i = 0; i < auctionCount; i++) {
+                stream.writeLong(offsets[i]);
+            }
+
+            stream.writeLong(bidderNamesOffset);
+            stream.writeLong(auctionNamesOffset);
+            stream.writeLong(indexOffset);
+            stream.writeInt(auctionCount);
+        }
+        return auctionCount;
+    }
+
+    private static int nameId(String name, Map<String, Integer> nameIds, List<String> names) {
+        return nameIds.computeIfAbsent(name, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+    }
+}
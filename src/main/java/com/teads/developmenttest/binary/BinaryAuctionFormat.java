@@ -0,0 +1,76 @@
+package com.teads.developmenttest.binary;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Layout of a binary auction file:
+// header        : magic (int), version (byte)
+// auctions      : name offset, reserve price, bidder count then for each bidder its name id, bid count and bids
+// bidder names  : name count then for each name its UTF-8 length and bytes
+// auction names : for each auction its UTF-8 length and bytes, at the name offset of the auction from the table start
+// index         : offset of each auction (long)
+// trailer       : bidder names offset (long), auction names offset (long), index offset (long), auction count (int)
+// ids, counts and name offsets are unsigned varints, prices and bids are zigzag encoded varints. Auction names are only
+// decoded with their auction, bidder names are shared so they are decoded once
+public class BinaryAuctionFormat {
+    public static final int MAGIC = 0x41554342;
+    public static final byte VERSION = 2;
+    public static final int HEADER_SIZE = Integer.BYTES + 1;
+    public static final int TRAILER_SIZE = 3 * Long.BYTES + Integer.BYTES;
+
+    public static int writeVarInt(DataOutput output, int value) throws IOException {
+        int written = 1;
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+            written++;
+        }
+        output.writeByte(value);
+        return written;
+    }
+
+    public static int writeVarLong(DataOutput output, long value) throws IOException {
+        int written = 1;
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+            written++;
+        }
+        output.writeByte((int) value);
+        return written;
+    }
+
+    public static int writeSignedVarInt(DataOutput output, int value) throws IOException {
+        return writeVarInt(output, (value << 1) ^ (value >> 31));
+    }
+
+    public static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    public static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    public static int readSignedVarInt(ByteBuffer buffer) {
+        int value = readVarInt(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,355 @@
+package com.teads.developmenttest.binary;
+
+import com.teads.developmenttest.engine.IdGroups;
+import com.teads.developmenttest.engine.TopBids;
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.AuctionResult;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.BidderDictionary;
+import com.teads.developmenttest.entity.BidderIdentity;
+import com.teads.developmenttest.entity.CancellationReason;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.exception.technical.TechnicalException;
+import com.teads.developmenttest.metrics.Metrics;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import static com.teads.developmenttest.binary.BinaryAuctionFormat.*;
+
+// Reads a binary auction file through memory mappings, a loader is not thread safe
+public class BinaryAuctionLoader implements Closeable {
+    static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    // bidder names only, the auction names are decoded with their auction
+    private final String[] names;
+    private final BidderIdentity[] identities;
+    private final long bidderNamesOffset;
+    private final long auctionNamesOffset;
+    private final long indexOffset;
+    @Getter
+    private final int auctionCount;
+
+    private final Window auctionWindow = new Window();
+    private final Window auctionNameWindow = new Window();
+
+    // scratch arrays used to evaluate an auction without creating its bidders
+    private final TopBids topBids = new TopBids();
+    private final IdGroups groups = new IdGroups();
+    private long[] bidderOffsets = new long[16];
+    // bids of the last evaluated auction
+    private int evaluatedBidCount;
+
+    public BinaryAuctionLoader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    BinaryAuctionLoader(Path path, int windowSize) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+        ByteBuffer header = size < HEADER_SIZE + TRAILER_SIZE ? null : readAt(0, HEADER_SIZE);
+        if (header == null || header.getInt() != MAGIC || header.get() != VERSION) {
+            channel.close();
+            throw new FunctionalException("File '" + path + "' is not a binary auction file of version " + VERSION);
+        }
+        ByteBuffer trailer = readAt(size - TRAILER_SIZE, TRAILER_SIZE);
+        bidderNamesOffset = trailer.getLong();
+        auctionNamesOffset = trailer.getLong();
+        indexOffset = trailer.getLong();
+        auctionCount = trailer.getInt();
+        names = readNames();
+        identities = new BidderIdentity[names.length];
+        BidderDictionary dictionary = new BidderDictionary();
+        for (int i = 0; i < names.length; i++) {
+            identities[i] = dictionary.intern(names[i]);
+        }
+    }
+
+    public Auction load(int index) {
+        return loadAt(auctionOffset(index));
+    }
+
+    public AuctionOutcome evaluate(int index) {
+        return evaluateAt(auctionOffset(index));
+    }
+
+    // auctions in the order of the file, read sequentially without going through the index
+    public Iterator<Auction> iterator() {
+        return new Iterator<>() {
+            private long offset = HEADER_SIZE;
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                return read < auctionCount;
+            }
+
+            @Override
+            public Auction next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more auctions in '" + path + "'");
+                }
+                Auction auction = loadAt(offset);
+                offset = auctionWindow.position();
+                read++;
+                return auction;
+            }
+        };
+    }
+
+    // evaluates the auctions in the order of the file
+    public void evaluateAll(Consumer<AuctionOutcome> consumer) {
+        long offset = HEADER_SIZE;
+        for (int i = 0; i < auctionCount; i++) {
+            consumer.accept(evaluateAt(offset));
+            offset = auctionWindow.position();
+        }
+    }
+
+    // names decoded when the file was opened
+    int getDecodedNameCount() {
+        return names.length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Auction loadAt(long offset) {
+        ByteBuffer buffer = auctionWindow.seek(offset);
+        try {
+            return readAuction(buffer);
+        } catch (BufferUnderflowException e) {
+            // the auction lies across the end of the window
+            return readAuction(auctionWindow.remap(offset));
+        }
+    }
+
+    private Auction readAuction(ByteBuffer buffer) {
+        Auction auction = new Auction();
+        auction.setName(readAuctionName(readVarLong(buffer)));
+        auction.setReservePrice(readSignedVarInt(buffer));
+        int bidderCount = readVarInt(buffer);
+        List<Bidder> bidders = new ArrayList<>(bidderCount);
+        for (int i = 0; i < bidderCount; i++) {
+            bidders.add(readBidder(buffer));
+        }
+        auction.setBidders(bidders);
+        return auction;
+    }
+
+    private Bidder readBidder(ByteBuffer buffer) {
+        BidderIdentity identity = identities[readVarInt(buffer)];
+        int bidCount = readVarInt(buffer);
+        int[] bids = new int[bidCount];
+        for (int i = 0; i < bidCount; i++) {
+            bids[i] = readSignedVarInt(buffer);
+        }
+        return new Bidder(identity, bids, bidCount);
+    }
+
+    private Bidder readBidderAt(long offset) {
+        ByteBuffer buffer = auctionWindow.seek(offset);
+        try {
+            return readBidder(buffer);
+        } catch (BufferUnderflowException e) {
+            return readBidder(auctionWindow.remap(offset));
+        }
+    }
+
+    private String readAuctionName(long nameOffset) {
+        long offset = auctionNamesOffset + nameOffset;
+        ByteBuffer buffer = auctionNameWindow.seek(offset);
+        try {
+            return readName(buffer);
+        } catch (BufferUnderflowException e) {
+            return readName(auctionNameWindow.remap(offset));
+        }
+    }
+
+    private AuctionOutcome evaluateAt(long offset) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        ByteBuffer buffer = auctionWindow.seek(offset);
+        AuctionOutcome outcome;
+        try {
+            outcome = evaluateAuction(buffer);
+        } catch (BufferUnderflowException e) {
+            outcome = evaluateAuction(auctionWindow.remap(offset));
+        }
+        if (Metrics.ENABLED) {
+            Metrics.addBytesParsed(auctionWindow.position() - offset);
+            Metrics.recordEvaluation(outcome, evaluatedBidCount, start);
+        }
+        return outcome;
+    }
+
+    // same rules as Auction.evaluate, only the winner is turned into a Bidder
+    private AuctionOutcome evaluateAuction(ByteBuffer buffer) {
+        long auctionNameOffset = readVarLong(buffer);
+        int reservePrice = readSignedVarInt(buffer);
+        int bidderCount = readVarInt(buffer);
+        evaluatedBidCount = 0;
+        if (bidderCount == 0) {
+            return AuctionOutcome.cancelled(readAuctionName(auctionNameOffset), reservePrice, CancellationReason.NO_BIDDERS);
+        }
+        ensureScratchCapacity(bidderCount);
+        groups.reset(names.length, bidderCount);
+        for (int i = 0; i < bidderCount; i++) {
+            bidderOffsets[i] = auctionWindow.position();
+            int nameId = readVarInt(buffer);
+            int bidCount = readVarInt(buffer);
+            evaluatedBidCount += bidCount;
+            int maxBid = Integer.MIN_VALUE;
+            for (int j = 0; j < bidCount; j++) {
+                maxBid = Math.max(maxBid, readSignedVarInt(buffer));
+            }
+            groups.add(i, nameId, bidCount, maxBid);
+        }
+        groups.fillTopBids(topBids);
+        long auctionEnd = auctionWindow.position();
+        String auctionName = readAuctionName(auctionNameOffset);
+
+        AuctionOutcome outcome;
+        if (!topBids.hasBids() || topBids.getBestBid() < reservePrice) {
+            outcome = AuctionOutcome.cancelled(auctionName, reservePrice, CancellationReason.RESERVE_PRICE_NOT_REACHED);
+        } else if (topBids.getBestBidCount() > 1) {
+            List<String> tiedBidders = new ArrayList<>(topBids.getBestBidCount());
+            for (int group = 0; group < groups.size(); group++) {
+                if (groups.hasBids(group) && groups.getMaxBid(group) == topBids.getBestBid()) {
+                    tiedBidders.add(names[groups.getNameId(group)]);
+                }
+            }
+            outcome = AuctionOutcome.tie(auctionName, reservePrice, tiedBidders, topBids.getBestBid());
+        } else {
+            int winningPrice = topBids.getWinningPrice(reservePrice);
+            if (winningPrice <= 0) {
+                outcome = AuctionOutcome.cancelled(auctionName, reservePrice, CancellationReason.NON_POSITIVE_WINNING_PRICE);
+            } else {
+                Bidder winner = readWinner(topBids.getWinnerIndex(), bidderCount);
+                outcome = AuctionOutcome.won(new AuctionResult(auctionName, winner, winningPrice), reservePrice);
+            }
+        }
+        // leaves the buffer at the start of the next auction
+        auctionWindow.seek(auctionEnd);
+        return outcome;
+    }
+
+    // the winner's own line, or a bidder holding the bids of all its lines
+    private Bidder readWinner(int group, int bidderCount) {
+        Bidder winner = readBidderAt(bidderOffsets[groups.getFirstLine(group)]);
+        if (groups.getLineCount(group) == 1) {
+            return winner;
+        }
+        for (int i = groups.getFirstLine(group) + 1; i < bidderCount; i++) {
+            if (groups.getNameIdOfLine(i) == groups.getNameId(group)) {
+                Bidder line = readBidderAt(bidderOffsets[i]);
+                for (int j = 0; j < line.getBidCount(); j++) {
+                    winner.addBid(line.getBid(j));
+                }
+            }
+        }
+        return winner;
+    }
+
+    private long auctionOffset(int index) {
+        if (index < 0 || index >= auctionCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + auctionCount + " auctions");
+        }
+        return readAt(indexOffset + (long) index * Long.BYTES, Long.BYTES).getLong();
+    }
+
+    private String[] readNames() throws IOException {
+        long namesSize = auctionNamesOffset - bidderNamesOffset;
+        if (namesSize > Integer.MAX_VALUE) {
+            throw new TechnicalException("The bidder names of '" + path + "' don't fit in a single mapping");
+        }
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, bidderNamesOffset, namesSize);
+        String[] result = new String[readVarInt(buffer)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = readName(buffer);
+        }
+        return result;
+    }
+
+    private static String readName(ByteBuffer buffer) {
+        byte[] bytes = new byte[readVarInt(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void ensureScratchCapacity(int bidderCount) {
+        if (bidderOffsets.length < bidderCount) {
+            bidderOffsets = Arrays.copyOf(bidderOffsets, Math.max(bidderCount, bidderOffsets.length * 2));
+        }
+    }
+
+    // mapping of a part of the file, the auctions and their names are read through windows of their own so that reading
+    // a name doesn't move the mapping of the auctions
+    private final class Window {
+        private MappedByteBuffer buffer;
+        private long start;
+
+        // offset in the file of the position of the buffer
+        private long position() {
+            return start + buffer.position();
+        }
+
+        private ByteBuffer seek(long offset) {
+            if (buffer == null || offset < start || offset >= start + buffer.limit()) {
+                return remap(offset);
+            }
+            buffer.position((int) (offset - start));
+            return buffer;
+        }
+
+        private ByteBuffer remap(long offset) {
+            if (buffer != null && offset == start && start + buffer.limit() == size) {
+                throw new TechnicalException("File '" + path + "' is truncated");
+            }
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, size - offset));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            start = offset;
+            return buffer;
+        }
+    }
+
+    private ByteBuffer readAt(long offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new TechnicalException("File '" + path + "' is truncated");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.flip();
+    }
+}
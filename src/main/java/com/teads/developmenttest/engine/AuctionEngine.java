@@ -0,0 +1,115 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.exception.technical.TechnicalException;
+import com.teads.developmenttest.output.ResultSink;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+// Evaluates independent auctions on a fork join pool, results are returned in the order of the auctions
+public class AuctionEngine implements AutoCloseable {
+    private static final int STREAMING_BATCH_SIZE = 1024;
+
+    private final int parallelism;
+    private final ForkJoinPool pool;
+    private final EvaluationCache cache;
+
+    public AuctionEngine(int parallelism) {
+        this(parallelism, null);
+    }
+
+    // the auctions are evaluated through the cache when there is one
+    public AuctionEngine(int parallelism, EvaluationCache cache) {
+        if (parallelism < 1) {
+            throw new FunctionalException("The parallelism must be > 0, found '" + parallelism + "'");
+        }
+        this.parallelism = parallelism;
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        this.cache = cache;
+    }
+
+    public static List<AuctionOutcome> evaluateAll(List<Auction> auctions, int parallelism) {
+        try (AuctionEngine engine = new AuctionEngine(parallelism)) {
+            return engine.evaluateAll(auctions);
+        }
+    }
+
+    public List<AuctionOutcome> evaluateAll(List<Auction> auctions) {
+        if (pool == null || auctions.size() < 2) {
+            return auctions.stream()
+                    .map(this::evaluateAuction)
+                    .collect(Collectors.toList());
+        }
+        try {
+            // a parallel stream run from a pool task uses that pool instead of the common one
+            return pool.submit(() -> auctions.parallelStream()
+                    .map(this::evaluateAuction)
+                    .collect(Collectors.toList()))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TechnicalException("The evaluation of the auctions has been interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new TechnicalException("The evaluation of the auctions failed: " + e.getCause());
+        }
+    }
+
+    // the outcomes are written in the order of the auctions
+    public void evaluateAll(List<Auction> auctions, ResultSink sink) {
+        sink.writeAll(evaluateAll(auctions));
+    }
+
+    // the outcomes are written as the auctions are read, by batches when they are evaluated in parallel. The outcomes of
+    // the auctions read before a malformed one are written before its error is thrown
+    public void evaluateAll(Iterator<Auction> auctions, ResultSink sink) {
+        if (pool == null) {
+            while (auctions.hasNext()) {
+                sink.write(evaluateAuction(auctions.next()));
+            }
+            return;
+        }
+        List<Auction> batch = new ArrayList<>(STREAMING_BATCH_SIZE);
+        try {
+            while (auctions.hasNext()) {
+                batch.add(auctions.next());
+                if (batch.size() == STREAMING_BATCH_SIZE) {
+                    evaluateAll(batch, sink);
+                    batch.clear();
+                }
+            }
+        } catch (FunctionalException e) {
+            evaluateAll(batch, sink);
+            throw e;
+        }
+        evaluateAll(batch, sink);
+    }
+
+    public static AuctionOutcome evaluate(Auction auction) {
+        return auction.evaluate();
+    }
+
+    private AuctionOutcome evaluateAuction(Auction auction) {
+        return cache == null ? auction.evaluate() : cache.evaluate(auction);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
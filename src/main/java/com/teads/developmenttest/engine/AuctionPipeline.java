@@ -0,0 +1,150 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.exception.technical.TechnicalException;
+import com.teads.developmenttest.output.ResultSink;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Parses, evaluates and writes the auctions at the same time: a parser thread submits batches of auctions to the
+// evaluation workers and queues their futures in order, the calling thread writes the results of each future.
+// The queue is bounded so the parser waits when the workers or the writer fall behind
+public class AuctionPipeline implements AutoCloseable {
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    // marks the end of the input in the queue
+    private static final Future<List<AuctionOutcome>> END_OF_INPUT = CompletableFuture.completedFuture(null);
+    private static final AtomicInteger PARSER_COUNT = new AtomicInteger();
+
+    private final int batchSize;
+    private final int queueCapacity;
+    private final ExecutorService workers;
+    private final EvaluationCache cache;
+
+    public AuctionPipeline(int workerCount) {
+        this(workerCount, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY, null);
+    }
+
+    public AuctionPipeline(int workerCount, EvaluationCache cache) {
+        this(workerCount, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY, cache);
+    }
+
+    // the auctions are evaluated through the cache when there is one
+    public AuctionPipeline(int workerCount, int batchSize, int queueCapacity, EvaluationCache cache) {
+        if (workerCount < 1 || batchSize < 1 || queueCapacity < 1) {
+            throw new FunctionalException("The workers, the batch size and the queue capacity of a pipeline must be > 0");
+        }
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.workers = Executors.newFixedThreadPool(workerCount);
+        this.cache = cache;
+    }
+
+    // returns the number of auctions written, a parsing error is thrown once the results of the previous auctions are written
+    public long run(Iterator<Auction> auctions, ResultSink sink) {
+        BlockingQueue<Future<List<AuctionOutcome>>> results = new ArrayBlockingQueue<>(queueCapacity);
+        Thread parser = new Thread(() -> parse(auctions, results), "auction-parser-" + PARSER_COUNT.incrementAndGet());
+        parser.setDaemon(true);
+        parser.start();
+        try {
+            return write(results, sink);
+        } finally {
+            // stops the parser when the writer failed and waits for it so that the caller can close the input
+            parser.interrupt();
+            join(parser);
+        }
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    private void parse(Iterator<Auction> auctions, BlockingQueue<Future<List<AuctionOutcome>>> results) {
+        try {
+            try {
+                List<Auction> batch = new ArrayList<>(batchSize);
+                while (!Thread.currentThread().isInterrupted() && auctions.hasNext()) {
+                    batch.add(auctions.next());
+                    if (batch.size() == batchSize) {
+                        results.put(submit(batch));
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    results.put(submit(batch));
+                }
+            } catch (RuntimeException | Error e) {
+                // an error must reach the writer too, otherwise it would wait for the end of the input forever
+                CompletableFuture<List<AuctionOutcome>> failure = new CompletableFuture<>();
+                failure.completeExceptionally(e);
+                results.put(failure);
+            }
+            results.put(END_OF_INPUT);
+        } catch (InterruptedException e) {
+            // the writer gave up
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void join(Thread parser) {
+        boolean interrupted = false;
+        while (parser.isAlive()) {
+            try {
+                parser.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Future<List<AuctionOutcome>> submit(List<Auction> batch) {
+        return workers.submit(() -> {
+            List<AuctionOutcome> outcomes = new ArrayList<>(batch.size());
+            for (Auction auction : batch) {
+                outcomes.add(cache == null ? auction.evaluate() : cache.evaluate(auction));
+            }
+            return outcomes;
+        });
+    }
+
+    private static long write(BlockingQueue<Future<List<AuctionOutcome>>> results, ResultSink sink) {
+        long written = 0;
+        try {
+            Future<List<AuctionOutcome>> result;
+            while ((result = results.take()) != END_OF_INPUT) {
+                List<AuctionOutcome> outcomes = result.get();
+                sink.writeAll(outcomes);
+                written += outcomes.size();
+            }
+            return written;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TechnicalException("The pipeline has been interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new TechnicalException("The evaluation of the auctions failed: " + e.getCause());
+        }
+    }
+}
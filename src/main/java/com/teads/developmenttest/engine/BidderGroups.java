@@ -0,0 +1,226 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.BidderIdentity;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Bidder lines of an auction grouped by bidder in order of first appearance, a bidder may bid on several lines. Bidders
+// registered in a dictionary are grouped by identity id, hand-built bidders by name
+public class BidderGroups {
+    // below this count a linear search is cheaper than hashing the names
+    private static final int LINEAR_SEARCH_LIMIT = 16;
+    // groups reused by the evaluations of each thread
+    private static final ThreadLocal<BidderGroups> LOCAL = ThreadLocal.withInitial(BidderGroups::new);
+    // name ids of the current thread, only used while grouping
+    private static final ThreadLocal<IdGroups> LOCAL_ID_GROUPS = ThreadLocal.withInitial(IdGroups::new);
+
+    private Bidder[] lines = new Bidder[16];
+    private int lineTotal;
+    private int[] groupOfLine = new int[16];
+    private int[] firstLine = new int[16];
+    private int[] lineCount = new int[16];
+    private int[] maxBid = new int[16];
+    private boolean[] hasBids = new boolean[16];
+    private int[] bidCounts = new int[16];
+    private final TopBids topBids = new TopBids();
+    // the groups of large auctions of hand-built bidders, null otherwise
+    private Map<String, Integer> groupByName;
+    // identity id and group packed in a long sorted by id, built by the first search of a large auction of registered bidders
+    private long[] groupById;
+    private int size;
+
+    public BidderGroups(List<Bidder> bidders) {
+        group(bidders);
+    }
+
+    private BidderGroups() {
+    }
+
+    // groups of the current thread, valid until its next call on that thread
+    public static BidderGroups local(List<Bidder> bidders) {
+        BidderGroups groups = LOCAL.get();
+        groups.group(bidders);
+        return groups;
+    }
+
+    private void group(List<Bidder> bidders) {
+        int total = bidders.size();
+        if (lines.length < total) {
+            int capacity = Math.max(total, lines.length * 2);
+            lines = new Bidder[capacity];
+            groupOfLine = new int[capacity];
+            firstLine = new int[capacity];
+            lineCount = new int[capacity];
+            maxBid = new int[capacity];
+            hasBids = new boolean[capacity];
+            bidCounts = new int[capacity];
+        } else if (total < lineTotal) {
+            // the bidders of the previous auction are not kept alive
+            Arrays.fill(lines, total, lineTotal, null);
+        }
+        lineTotal = total;
+        groupByName = null;
+        groupById = null;
+        int nameCount = 0;
+        for (int line = 0; line < total; line++) {
+            lines[line] = bidders.get(line);
+            BidderIdentity identity = lines[line].getIdentity();
+            nameCount = identity == null || !identity.isRegistered() || nameCount < 0 ? -1 : Math.max(nameCount, identity.getId() + 1);
+        }
+        if (nameCount < 0 || !groupByIdentity(nameCount)) {
+            groupByName();
+        }
+    }
+
+    // false when two bidders share an id, they come from different dictionaries
+    private boolean groupByIdentity(int nameCount) {
+        IdGroups idGroups = LOCAL_ID_GROUPS.get();
+        idGroups.reset(nameCount, lineTotal);
+        size = 0;
+        for (int line = 0; line < lineTotal; line++) {
+            Bidder bidder = lines[line];
+            int group = idGroups.add(line, bidder.getIdentity().getId(), 0, 0);
+            if (group < size && !isSameBidder(lines[firstLine[group]], bidder)) {
+                return false;
+            }
+            addLine(line, group);
+        }
+        return true;
+    }
+
+    private void groupByName() {
+        groupByName = lineTotal > LINEAR_SEARCH_LIMIT ? new HashMap<>(lineTotal * 2) : null;
+        size = 0;
+        for (int line = 0; line < lineTotal; line++) {
+            Bidder bidder = lines[line];
+            int group = groupByName == null ? findGroup(bidder) : groupByName.computeIfAbsent(bidder.getName(), name -> size);
+            addLine(line, group);
+        }
+    }
+
+    private void addLine(int line, int group) {
+        Bidder bidder = lines[line];
+        if (group == size) {
+            firstLine[group] = line;
+            lineCount[group] = 0;
+            bidCounts[group] = 0;
+            hasBids[group] = false;
+            maxBid[group] = Integer.MIN_VALUE;
+            size++;
+        }
+        groupOfLine[line] = group;
+        lineCount[group]++;
+        bidCounts[group] += bidder.getBidCount();
+        if (bidder.hasBids()) {
+            hasBids[group] = true;
+            maxBid[group] = Math.max(maxBid[group], bidder.getMaxBid());
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean hasBids(int group) {
+        return hasBids[group];
+    }
+
+    public int getMaxBid(int group) {
+        return maxBid[group];
+    }
+
+    // bids of all the lines of the bidder
+    public int getBidCount(int group) {
+        return bidCounts[group];
+    }
+
+    public String getName(int group) {
+        return lines[firstLine[group]].getName();
+    }
+
+    // the bidder itself when it is on a single line, otherwise a bidder holding the bids of all its lines
+    public Bidder getBidder(int group) {
+        Bidder first = lines[firstLine[group]];
+        if (lineCount[group] == 1) {
+            return first;
+        }
+        Bidder merged = new Bidder(first.getIdentity(), new int[0], 0);
+        for (int line = firstLine[group]; line < lineTotal; line++) {
+            if (groupOfLine[line] == group) {
+                for (int i = 0; i < lines[line].getBidCount(); i++) {
+                    merged.addBid(lines[line].getBid(i));
+                }
+            }
+        }
+        return merged;
+    }
+
+    // group of the bidder with the same name, -1 when it doesn't bid in this auction
+    public int indexOf(Bidder bidder) {
+        if (groupByName != null) {
+            return groupByName.getOrDefault(bidder.getName(), -1);
+        }
+        BidderIdentity identity = bidder.getIdentity();
+        if (size > LINEAR_SEARCH_LIMIT && identity != null && identity.isRegistered()) {
+            int group = findGroupById(identity.getId());
+            if (group >= 0 && isSameBidder(lines[firstLine[group]], bidder)) {
+                return group;
+            }
+        }
+        int group = findGroup(bidder);
+        return group == size ? -1 : group;
+    }
+
+    // best and second best max bids of the groups, the winner index is a group
+    public TopBids topBids() {
+        topBids.reset();
+        for (int group = 0; group < size; group++) {
+            if (hasBids[group]) {
+                topBids.accept(group, maxBid[group]);
+            }
+        }
+        return topBids;
+    }
+
+    private int findGroup(Bidder bidder) {
+        for (int group = 0; group < size; group++) {
+            if (isSameBidder(lines[firstLine[group]], bidder)) {
+                return group;
+            }
+        }
+        return size;
+    }
+
+    private int findGroupById(int id) {
+        if (groupById == null) {
+            long[] keys = new long[size];
+            for (int group = 0; group < size; group++) {
+                keys[group] = ((long) lines[firstLine[group]].getIdentity().getId() << 32) | group;
+            }
+            Arrays.sort(keys);
+            groupById = keys;
+        }
+        int low = 0;
+        int high = groupById.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = (int) (groupById[middle] >>> 32);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return (int) groupById[middle];
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isSameBidder(Bidder first, Bidder bidder) {
+        return first.getIdentity() == bidder.getIdentity() || first.getName().equals(bidder.getName());
+    }
+}
@@ -0,0 +1,266 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.AuctionResult;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.CancellationReason;
+import com.teads.developmenttest.entity.ContentHasher;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.metrics.Metrics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Outcomes of already evaluated auctions keyed by a 128 bits hash of their content: the names, the reserve price and
+// the bids. The hash of a parsed auction is the one computed by the parser as it scanned the block, as long as neither the
+// auction nor its bidders were changed since. The cache can be shared between threads: the outcomes are spread over
+// segments by hash, each with its own lock, and the least recently used outcomes of a segment are evicted beyond its share
+// of the capacity
+public class EvaluationCache {
+    private static final int FILE_MAGIC = 0x41554343;
+    private static final int FILE_VERSION = 2;
+    private static final int WON = -1;
+    private static final int MAX_SEGMENTS = 16;
+    // below this count of outcomes per segment the cache is kept in fewer segments so that small caches evict exactly
+    private static final int MIN_SEGMENT_CAPACITY = 1024;
+
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public EvaluationCache(int capacity) {
+        if (capacity < 1) {
+            throw new FunctionalException("The capacity of the cache must be > 0, found '" + capacity + "'");
+        }
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && capacity / (segmentCount * 2) >= MIN_SEGMENT_CAPACITY) {
+            segmentCount *= 2;
+        }
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // the first segments take the remainder of the capacity
+            segments[i] = new Segment(capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0));
+        }
+    }
+
+    public AuctionOutcome evaluate(Auction auction) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        Key key = Key.of(auction);
+        Segment segment = segmentOf(key);
+        AuctionOutcome outcome;
+        synchronized (segment) {
+            outcome = segment.get(key);
+        }
+        if (outcome != null) {
+            hits.increment();
+            if (Metrics.ENABLED) {
+                // a hit is an evaluation as well, a miss is recorded by the auction itself
+                Metrics.recordEvaluation(outcome, bidCount(auction), start);
+            }
+            return outcome;
+        }
+        misses.increment();
+        // evaluated outside of the lock, two threads may evaluate the same auction at worst
+        outcome = auction.evaluate();
+        synchronized (segment) {
+            segment.put(key, outcome);
+        }
+        return outcome;
+    }
+
+    private static int bidCount(Auction auction) {
+        int bidCount = 0;
+        for (Bidder bidder : auction.getBidders() == null ? List.<Bidder>of() : auction.getBidders()) {
+            bidCount += bidder.getBidCount();
+        }
+        return bidCount;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentOf(Key key) {
+        // the low bits of the hash are used by the hash table of the segment
+        return segments[(int) (key.high >>> 32) & (segments.length - 1)];
+    }
+
+    // the file is replaced at once so a reader never sees a partial cache
+    public void save(Path path) throws IOException {
+        // each segment from its least to its most recently used outcome
+        List<Map.Entry<Key, AuctionOutcome>> entries = new ArrayList<>();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                entries.addAll(segment.entrySet());
+            }
+        }
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 64 * 1024))) {
+                stream.writeInt(FILE_MAGIC);
+                stream.writeByte(FILE_VERSION);
+                stream.writeInt(entries.size());
+                for (Map.Entry<Key, AuctionOutcome> entry : entries) {
+                    stream.writeLong(entry.getKey().high);
+                    stream.writeLong(entry.getKey().low);
+                    writeOutcome(stream, entry.getValue());
+                }
+            }
+            try {
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    // an empty cache when the file doesn't exist yet, the most recently used outcomes of each segment are kept when the file
+    // holds more than the capacity
+    public static EvaluationCache load(Path path, int capacity) throws IOException {
+        EvaluationCache cache = new EvaluationCache(capacity);
+        if (!Files.exists(path)) {
+            return cache;
+        }
+        try (DataInputStream stream = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            if (stream.readInt() != FILE_MAGIC || stream.readByte() != FILE_VERSION) {
+                throw new FunctionalException("File '" + path + "' is not an evaluation cache of version " + FILE_VERSION);
+            }
+            int count = stream.readInt();
+            for (int i = 0; i < count; i++) {
+                Key key = new Key(stream.readLong(), stream.readLong());
+                cache.segmentOf(key).put(key, readOutcome(stream));
+            }
+        }
+        return cache;
+    }
+
+    private static void writeOutcome(DataOutputStream stream, AuctionOutcome outcome) throws IOException {
+        stream.writeUTF(outcome.getAuctionName());
+        stream.writeInt(outcome.getReservePrice());
+        if (outcome.isWon()) {
+            Bidder winner = outcome.getResult().getWinner();
+            stream.writeByte(WON);
+            stream.writeUTF(winner.getName());
+            stream.writeInt(winner.getBidCount());
+            for (int i = 0; i < winner.getBidCount(); i++) {
+                stream.writeInt(winner.getBid(i));
+            }
+            stream.writeInt(outcome.getResult().getWinningPrice());
+            return;
+        }
+        stream.writeByte(outcome.getCancellationReason().ordinal());
+        if (outcome.getCancellationReason() == CancellationReason.TIE) {
+            stream.writeInt(outcome.getTiedBidders().size());
+            for (String bidder : outcome.getTiedBidders()) {
+                stream.writeUTF(bidder);
+            }
+            stream.writeInt(outcome.getTiedBid());
+        }
+    }
+
+    private static AuctionOutcome readOutcome(DataInputStream stream) throws IOException {
+        String auctionName = stream.readUTF();
+        int reservePrice = stream.readInt();
+        int status = stream.readByte();
+        if (status == WON) {
+            String winnerName = stream.readUTF();
+            int[] bids = new int[stream.readInt()];
+            for (int i = 0; i < bids.length; i++) {
+                bids[i] = stream.readInt();
+            }
+            AuctionResult result = new AuctionResult(auctionName, new Bidder(winnerName, bids, bids.length), stream.readInt());
+            return AuctionOutcome.won(result, reservePrice);
+        }
+        CancellationReason reason = CancellationReason.values()[status];
+        if (reason != CancellationReason.TIE) {
+            return AuctionOutcome.cancelled(auctionName, reservePrice, reason);
+        }
+        List<String> tiedBidders = new ArrayList<>();
+        for (int i = stream.readInt(); i > 0; i--) {
+            tiedBidders.add(stream.readUTF());
+        }
+        return AuctionOutcome.tie(auctionName, reservePrice, tiedBidders, stream.readInt());
+    }
+
+    // access ordered, the eldest outcome is evicted beyond the capacity. Guarded by its own lock
+    private static final class Segment extends LinkedHashMap<Key, AuctionOutcome> {
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, AuctionOutcome> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    // the hash of the content, a cheap alternative to the Lombok hashCode which boxes the bids
+    private static final class Key {
+        private final long high;
+        private final long low;
+
+        private Key(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        // the auctions built by hand or changed since they were parsed, even in place, are hashed here
+        static Key of(Auction auction) {
+            if (auction.hasContentHash()) {
+                return new Key(auction.getContentHashHigh(), auction.getContentHashLow());
+            }
+            ContentHasher hasher = ContentHasher.of(auction);
+            return new Key(hasher.getHigh(), hasher.getLow());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return high == other.high && low == other.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (low ^ (low >>> 32));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.teads.developmenttest.engine;
+
+import java.util.Arrays;
+
+// Groups the bidder lines of an auction by name id like BidderGroups does by name, for the readers working on name ids.
+// The arrays are reused from an auction to the next: a name id belongs to the current auction when it holds its stamp.
+// Not thread safe
+public class IdGroups {
+    private int[] nameStamps = new int[0];
+    private int[] nameGroups = new int[0];
+    private int stamp;
+
+    private int[] lineNameIds = new int[16];
+    private int[] groupNameIds = new int[16];
+    private int[] groupFirstLines = new int[16];
+    private int[] groupLineCounts = new int[16];
+    private int[] groupMaxBids = new int[16];
+    private boolean[] groupHasBids = new boolean[16];
+    private int size;
+
+    // starts a new auction, the name ids are below nameCount
+    public void reset(int nameCount, int lineCount) {
+        if (nameStamps.length < nameCount) {
+            int capacity = Math.max(nameCount, nameStamps.length * 2);
+            nameStamps = Arrays.copyOf(nameStamps, capacity);
+            nameGroups = Arrays.copyOf(nameGroups, capacity);
+        }
+        if (lineNameIds.length < lineCount) {
+            int capacity = Math.max(lineCount, lineNameIds.length * 2);
+            lineNameIds = Arrays.copyOf(lineNameIds, capacity);
+            groupNameIds = Arrays.copyOf(groupNameIds, capacity);
+            groupFirstLines = Arrays.copyOf(groupFirstLines, capacity);
+            groupLineCounts = Arrays.copyOf(groupLineCounts, capacity);
+            groupMaxBids = Arrays.copyOf(groupMaxBids, capacity);
+            groupHasBids = Arrays.copyOf(groupHasBids, capacity);
+        }
+        stamp++;
+        if (stamp == 0) {
+            // the stamps wrapped around, older groups could be taken for current ones
+            Arrays.fill(nameStamps, 0);
+            stamp = 1;
+        }
+        size = 0;
+    }
+
+    // lines are added in order, maxBid is ignored when the line has no bids
+    public int add(int line, int nameId, int bidCount, int maxBid) {
+        lineNameIds[line] = nameId;
+        int group;
+        if (nameStamps[nameId] == stamp) {
+            group = nameGroups[nameId];
+        } else {
+            group = size++;
+            nameStamps[nameId] = stamp;
+            nameGroups[nameId] = group;
+            groupNameIds[group] = nameId;
+            groupFirstLines[group] = line;
+            groupLineCounts[group] = 0;
+            groupMaxBids[group] = Integer.MIN_VALUE;
+            groupHasBids[group] = false;
+        }
+        groupLineCounts[group]++;
+        if (bidCount > 0) {
+            groupHasBids[group] = true;
+            groupMaxBids[group] = Math.max(groupMaxBids[group], maxBid);
+        }
+        return group;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getNameId(int group) {
+        return groupNameIds[group];
+    }
+
+    public int getNameIdOfLine(int line) {
+        return lineNameIds[line];
+    }
+
+    public int getFirstLine(int group) {
+        return groupFirstLines[group];
+    }
+
+    public int getLineCount(int group) {
+        return groupLineCounts[group];
+    }
+
+    public boolean hasBids(int group) {
+        return groupHasBids[group];
+    }
+
+    public int getMaxBid(int group) {
+        return groupMaxBids[group];
+    }
+
+    // resets topBids with the max bids of the groups, the winner index is a group
+    public TopBids fillTopBids(TopBids topBids) {
+        topBids.reset();
+        for (int group = 0; group < size; group++) {
+            if (groupHasBids[group]) {
+                topBids.accept(group, groupMaxBids[group]);
+            }
+        }
+        return topBids;
+    }
+}
@@ -0,0 +1,156 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.AuctionResult;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.CancellationReason;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+// Auction fed one bid at a time, possibly from many threads, whose result is kept up to date as bids are placed
+public class LiveAuction {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final int reservePrice;
+    private final ConcurrentHashMap<String, LiveBidder> bidders = new ConcurrentHashMap<>();
+    private final AtomicInteger bidderSequence = new AtomicInteger();
+    private final AtomicReference<Ranking> ranking = new AtomicReference<>(Ranking.EMPTY);
+
+    public LiveAuction(String name, int reservePrice) {
+        this.name = name;
+        this.reservePrice = reservePrice;
+    }
+
+    public void placeBid(String bidderName, int amount) {
+        LiveBidder liveBidder = bidders.computeIfAbsent(bidderName, key -> new LiveBidder(key, bidderSequence.getAndIncrement()));
+        int maxBid;
+        // each bidder is locked on its own so that bids of different bidders don't contend
+        synchronized (liveBidder) {
+            boolean raised = !liveBidder.bidder.hasBids() || amount > liveBidder.bidder.getMaxBid();
+            liveBidder.bidder.addBid(amount);
+            liveBidder.sharedSnapshot = null;
+            if (!raised) {
+                return;
+            }
+            maxBid = liveBidder.bidder.getMaxBid();
+        }
+        ranking.updateAndGet(current -> current.raise(liveBidder, maxBid));
+    }
+
+    // the winner of a won outcome is shared by the outcomes queried until it places a new bid and must not be changed
+    public AuctionOutcome currentOutcome() {
+        Ranking current = ranking.get();
+        if (current.leaders.length == 0) {
+            return AuctionOutcome.cancelled(name, reservePrice, CancellationReason.NO_BIDDERS);
+        }
+        if (current.bestBid < reservePrice) {
+            return AuctionOutcome.cancelled(name, reservePrice, CancellationReason.RESERVE_PRICE_NOT_REACHED);
+        }
+        if (current.leaders.length > 1) {
+            List<String> tiedBidders = Arrays.stream(current.leaders)
+                    .sorted(Comparator.comparingInt(liveBidder -> liveBidder.sequence))
+                    .map(liveBidder -> liveBidder.bidder.getName())
+                    .collect(Collectors.toList());
+            return AuctionOutcome.tie(name, reservePrice, tiedBidders, current.bestBid);
+        }
+        int winningPrice = current.hasSecondBid && current.secondBid >= reservePrice ? current.secondBid : reservePrice;
+        if (winningPrice <= 0) {
+            return AuctionOutcome.cancelled(name, reservePrice, CancellationReason.NON_POSITIVE_WINNING_PRICE);
+        }
+        return AuctionOutcome.won(new AuctionResult(name, current.leaders[0].sharedSnapshot(), winningPrice), reservePrice);
+    }
+
+    public AuctionResult currentResult() {
+        AuctionOutcome outcome = currentOutcome();
+        if (!outcome.isWon()) {
+            throw outcome.toException();
+        }
+        return outcome.getResult();
+    }
+
+    // copy of the bids placed so far, bidders are in the order of their first bid
+    public Auction toAuction() {
+        List<Bidder> snapshot = bidders.values().stream()
+                .sorted(Comparator.comparingInt(liveBidder -> liveBidder.sequence))
+                .map(LiveBidder::snapshot)
+                .collect(Collectors.toList());
+        return new Auction(name, reservePrice, snapshot);
+    }
+
+    private static class LiveBidder {
+        private final Bidder bidder;
+        private final int sequence;
+        // copy of the bids returned to the queries, dropped by each new bid so that a leader is copied once per change
+        private Bidder sharedSnapshot;
+
+        private LiveBidder(String name, int sequence) {
+            this.bidder = new Bidder(name, Collections.emptyList());
+            this.sequence = sequence;
+        }
+
+        private synchronized Bidder snapshot() {
+            return new Bidder(bidder.getName(), bidder.toBidArray(), bidder.getBidCount());
+        }
+
+        private synchronized Bidder sharedSnapshot() {
+            if (sharedSnapshot == null) {
+                sharedSnapshot = snapshot();
+            }
+            return sharedSnapshot;
+        }
+    }
+
+    // Immutable best bid, bidders having it and highest max bid below it, replaced as a whole on each raise
+    private static class Ranking {
+        private static final Ranking EMPTY = new Ranking(Integer.MIN_VALUE, new LiveBidder[0], Integer.MIN_VALUE, false);
+
+        private final int bestBid;
+        private final LiveBidder[] leaders;
+        private final int secondBid;
+        private final boolean hasSecondBid;
+
+        private Ranking(int bestBid, LiveBidder[] leaders, int secondBid, boolean hasSecondBid) {
+            this.bestBid = bestBid;
+            this.leaders = leaders;
+            this.secondBid = secondBid;
+            this.hasSecondBid = hasSecondBid;
+        }
+
+        // maxBid only grows for a given bidder but raises may be applied out of order, older ones are ignored
+        private Ranking raise(LiveBidder liveBidder, int maxBid) {
+            if (leaders.length == 0) {
+                return new Ranking(maxBid, new LiveBidder[]{liveBidder}, secondBid, hasSecondBid);
+            }
+            boolean leading = Arrays.asList(leaders).contains(liveBidder);
+            if (maxBid > bestBid) {
+                if (leading && leaders.length == 1) {
+                    return new Ranking(maxBid, leaders, secondBid, hasSecondBid);
+                }
+                return new Ranking(maxBid, new LiveBidder[]{liveBidder}, bestBid, true);
+            }
+            if (leading) {
+                return this;
+            }
+            if (maxBid == bestBid) {
+                LiveBidder[] tiedLeaders = Arrays.copyOf(leaders, leaders.length + 1);
+                tiedLeaders[leaders.length] = liveBidder;
+                return new Ranking(bestBid, tiedLeaders, secondBid, hasSecondBid);
+            }
+            if (!hasSecondBid || maxBid > secondBid) {
+                return new Ranking(bestBid, leaders, maxBid, true);
+            }
+            return this;
+        }
+    }
+}
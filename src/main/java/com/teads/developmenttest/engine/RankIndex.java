@@ -0,0 +1,85 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Bidder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Bidders of an auction ranked by their max bid, a bidder on several lines is ranked once. Built once from the bidders
+// and only valid as long as they are not changed
+public class RankIndex {
+    private final BidderGroups groups;
+    // groups having bids from the highest max bid to the lowest, bidders with the same max bid in order of appearance
+    private final int[] rankedGroups;
+    private final int bidCount;
+
+    public RankIndex(List<Bidder> bidders) {
+        groups = new BidderGroups(bidders);
+        // max bid and group packed in a long so that the ranking is a primitive sort
+        long[] keys = new long[groups.size()];
+        int ranked = 0;
+        int bids = 0;
+        for (int group = 0; group < groups.size(); group++) {
+            bids += groups.getBidCount(group);
+            if (groups.hasBids(group)) {
+                keys[ranked++] = ((long) ~groups.getMaxBid(group) << 32) | group;
+            }
+        }
+        Arrays.sort(keys, 0, ranked);
+        rankedGroups = new int[ranked];
+        for (int i = 0; i < ranked; i++) {
+            rankedGroups[i] = (int) keys[i];
+        }
+        bidCount = bids;
+    }
+
+    // the k bidders with the highest max bids, fewer when less bidders have bids
+    public List<Bidder> topK(int k) {
+        int count = Math.min(Math.max(k, 0), rankedGroups.length);
+        List<Bidder> top = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            top.add(groups.getBidder(rankedGroups[i]));
+        }
+        return top;
+    }
+
+    // max bid of the bidder at the given rank, starting at 0
+    public int getMaxBidAt(int rank) {
+        return groups.getMaxBid(rankedGroups[rank]);
+    }
+
+    // 1 for the best bidders, bidders with the same max bid share their rank. -1 when the bidder has no bids in this auction
+    public int rankOf(Bidder bidder) {
+        int group = groups.indexOf(bidder);
+        if (group < 0 || !groups.hasBids(group)) {
+            return -1;
+        }
+        int maxBid = groups.getMaxBid(group);
+        // the first ranked group having this max bid
+        int low = 0;
+        int high = rankedGroups.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getMaxBidAt(middle) > maxBid) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low + 1;
+    }
+
+    // bidders having at least one bid
+    public int getRankedBidderCount() {
+        return rankedGroups.length;
+    }
+
+    public int getBidderCount() {
+        return groups.size();
+    }
+
+    public int getBidCount() {
+        return bidCount;
+    }
+}
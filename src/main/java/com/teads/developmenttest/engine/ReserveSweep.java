@@ -0,0 +1,179 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.AuctionResult;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.CancellationReason;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import org.apache.commons.collections.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Outcomes of an auction for several reserve prices. The bids are read once: only the reserve price changes between
+// two outcomes, the best and second best max bids are the same for all of them
+public class ReserveSweep {
+    private static final byte WON = -1;
+
+    private final String auctionName;
+    private final int[] reservePrices;
+    // ordinal of the cancellation reason or WON for each reserve price
+    private final byte[] statuses;
+    private final int[] winningPrices;
+    private final Bidder winner;
+    private final List<String> tiedBidders;
+    private final int tiedBid;
+
+    private ReserveSweep(String auctionName, int[] reservePrices, Bidder winner, List<String> tiedBidders, int tiedBid) {
+        this.auctionName = auctionName;
+        this.reservePrices = reservePrices;
+        this.statuses = new byte[reservePrices.length];
+        this.winningPrices = new int[reservePrices.length];
+        this.winner = winner;
+        this.tiedBidders = tiedBidders;
+        this.tiedBid = tiedBid;
+    }
+
+    // reservePrices must be sorted in ascending order, the outcome for a reserve price is the one of Auction.evaluate
+    public static ReserveSweep of(Auction auction, int[] reservePrices) {
+        for (int i = 1; i < reservePrices.length; i++) {
+            if (reservePrices[i] < reservePrices[i - 1]) {
+                throw new FunctionalException("The reserve prices of a sweep must be sorted in ascending order");
+            }
+        }
+        if (CollectionUtils.isEmpty(auction.getBidders())) {
+            ReserveSweep sweep = new ReserveSweep(auction.getName(), reservePrices, null, Collections.emptyList(), 0);
+            sweep.fill(0, reservePrices.length, CancellationReason.NO_BIDDERS);
+            return sweep;
+        }
+
+        BidderGroups groups = new BidderGroups(auction.getBidders());
+        TopBids topBids = groups.topBids();
+        if (!topBids.hasBids()) {
+            ReserveSweep sweep = new ReserveSweep(auction.getName(), reservePrices, null, Collections.emptyList(), 0);
+            sweep.fill(0, reservePrices.length, CancellationReason.RESERVE_PRICE_NOT_REACHED);
+            return sweep;
+        }
+
+        int bestBid = topBids.getBestBid();
+        // reserve prices above the best bid are not reached whatever the bidders
+        int reached = upperBound(reservePrices, bestBid);
+        if (topBids.getBestBidCount() > 1) {
+            List<String> tiedBidders = new ArrayList<>(topBids.getBestBidCount());
+            for (int group = 0; group < groups.size(); group++) {
+                if (groups.hasBids(group) && groups.getMaxBid(group) == bestBid) {
+                    tiedBidders.add(groups.getName(group));
+                }
+            }
+            ReserveSweep sweep = new ReserveSweep(auction.getName(), reservePrices, null, tiedBidders, bestBid);
+            sweep.fill(0, reached, CancellationReason.TIE);
+            sweep.fill(reached, reservePrices.length, CancellationReason.RESERVE_PRICE_NOT_REACHED);
+            return sweep;
+        }
+
+        ReserveSweep sweep = new ReserveSweep(auction.getName(), reservePrices, groups.getBidder(topBids.getWinnerIndex()), Collections.emptyList(), 0);
+        for (int i = 0; i < reached; i++) {
+            // the second bid sets the price until the reserve price goes above it
+            int winningPrice = topBids.getWinningPrice(reservePrices[i]);
+            if (winningPrice <= 0) {
+                sweep.statuses[i] = (byte) CancellationReason.NON_POSITIVE_WINNING_PRICE.ordinal();
+            } else {
+                sweep.statuses[i] = WON;
+                sweep.winningPrices[i] = winningPrice;
+            }
+        }
+        sweep.fill(reached, reservePrices.length, CancellationReason.RESERVE_PRICE_NOT_REACHED);
+        return sweep;
+    }
+
+    // sweeps every auction with the same reserve prices, the auctions are read one by one
+    public static void sweepAll(Iterator<Auction> auctions, int[] reservePrices, Consumer<ReserveSweep> consumer) {
+        while (auctions.hasNext()) {
+            consumer.accept(of(auctions.next(), reservePrices));
+        }
+    }
+
+    // min, min + step, ... up to max included
+    public static int[] range(int min, int max, int step) {
+        if (step < 1 || max < min) {
+            throw new FunctionalException("A sweep expects min <= max and a step > 0, found '" + min + ":" + max + ":" + step + "'");
+        }
+        long count = ((long) max - min) / step + 1;
+        if (count > Integer.MAX_VALUE - 8) {
+            throw new FunctionalException("A sweep can't have more than " + (Integer.MAX_VALUE - 8) + " reserve prices");
+        }
+        int[] reservePrices = new int[(int) count];
+        for (int i = 0; i < reservePrices.length; i++) {
+            reservePrices[i] = (int) (min + (long) i * step);
+        }
+        return reservePrices;
+    }
+
+    public String getAuctionName() {
+        return auctionName;
+    }
+
+    public int size() {
+        return reservePrices.length;
+    }
+
+    public int getReservePrice(int index) {
+        return reservePrices[index];
+    }
+
+    public boolean isWon(int index) {
+        return statuses[index] == WON;
+    }
+
+    // null when the auction is won for that reserve price
+    public CancellationReason getCancellationReason(int index) {
+        return isWon(index) ? null : CancellationReason.values()[statuses[index]];
+    }
+
+    // 0 when the auction is cancelled for that reserve price
+    public int getWinningPrice(int index) {
+        return winningPrices[index];
+    }
+
+    // the winner of the auction for the reserve prices that are reached, null on a tie or without bids
+    public Bidder getWinner() {
+        return winner;
+    }
+
+    public AuctionOutcome getOutcome(int index) {
+        int reservePrice = reservePrices[index];
+        if (isWon(index)) {
+            return AuctionOutcome.won(new AuctionResult(auctionName, winner, winningPrices[index]), reservePrice);
+        }
+        CancellationReason reason = getCancellationReason(index);
+        if (reason == CancellationReason.TIE) {
+            return AuctionOutcome.tie(auctionName, reservePrice, tiedBidders, tiedBid);
+        }
+        return AuctionOutcome.cancelled(auctionName, reservePrice, reason);
+    }
+
+    private void fill(int from, int to, CancellationReason reason) {
+        for (int i = from; i < to; i++) {
+            statuses[i] = (byte) reason.ordinal();
+        }
+    }
+
+    // index of the first value above the given one
+    private static int upperBound(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,71 @@
+package com.teads.developmenttest.engine;
+
+// Keeps the highest and second highest max bids of the bidders of an auction in a single pass
+public class TopBids {
+    private int bestBid;
+    private int bestBidCount;
+    private int winnerIndex;
+    private int secondBid;
+    private boolean hasSecondBid;
+
+    public TopBids() {
+        reset();
+    }
+
+    public void reset() {
+        bestBid = Integer.MIN_VALUE;
+        bestBidCount = 0;
+        winnerIndex = -1;
+        secondBid = Integer.MIN_VALUE;
+        hasSecondBid = false;
+    }
+
+    // index identifies the bidder, maxBid is the highest of its bids
+    public void accept(int index, int maxBid) {
+        if (bestBidCount == 0 || maxBid > bestBid) {
+            if (bestBidCount > 0) {
+                secondBid = bestBid;
+                hasSecondBid = true;
+            }
+            bestBid = maxBid;
+            bestBidCount = 1;
+            winnerIndex = index;
+        } else if (maxBid == bestBid) {
+            bestBidCount++;
+        } else if (!hasSecondBid || maxBid > secondBid) {
+            secondBid = maxBid;
+            hasSecondBid = true;
+        }
+    }
+
+    public boolean hasBids() {
+        return bestBidCount > 0;
+    }
+
+    public int getBestBid() {
+        return bestBid;
+    }
+
+    public int getBestBidCount() {
+        return bestBidCount;
+    }
+
+    // index of the first bidder who placed the best bid
+    public int getWinnerIndex() {
+        return winnerIndex;
+    }
+
+    // highest max bid below the best one
+    public boolean hasSecondBid() {
+        return hasSecondBid;
+    }
+
+    public int getSecondBid() {
+        return secondBid;
+    }
+
+    // highest bid from a non-winning bidder above the reserve price, or the reserve price if none applies
+    public int getWinningPrice(int reservePrice) {
+        return hasSecondBid && secondBid >= reservePrice ? secondBid : reservePrice;
+    }
+}
@@ -1,71 +1,173 @@
 package com.teads.developmenttest.entity;
 
-import com.teads.developmenttest.exception.functional.FunctionalException;
-import com.teads.developmenttest.exception.technical.TechnicalException;
+import com.teads.developmenttest.engine.BidderGroups;
+import com.teads.developmenttest.engine.RankIndex;
+import com.teads.developmenttest.engine.TopBids;
+import com.teads.developmenttest.metrics.Metrics;
 import lombok.*;
 import org.apache.commons.collections.CollectionUtils;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 @EqualsAndHashCode
 @ToString
 public class Auction {
     private String name;
     private int reservePrice;
-    private List<Bidder> bidders = new ArrayList<>();
+    private List<Bidder> bidders = new BidderList();
+    // built on the first ranking query and dropped when the bidders are replaced
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private RankIndex rankIndex;
+    // hash of the content computed by the parser, dropped when the auction is changed through its setters or its bidders
+    // are changed in place
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean contentHashed;
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private long contentHashHigh;
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private long contentHashLow;
+    // changes of the bidder list and sum of the changes of its bidders when the hash was set
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int hashedListChanges;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private long hashedBidderChanges;
+
+    public Auction(String name, int reservePrice, List<Bidder> bidders) {
+        this.name = name;
+        this.reservePrice = reservePrice;
+        this.bidders = bidders;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        this.contentHashed = false;
+    }
+
+    public void setReservePrice(int reservePrice) {
+        this.reservePrice = reservePrice;
+        this.contentHashed = false;
+    }
+
+    public void setBidders(List<Bidder> bidders) {
+        this.bidders = bidders;
+        this.rankIndex = null;
+        this.contentHashed = false;
+    }
+
+    // only kept for the bidder list of the auction itself, the changes of a list given by the caller can't be tracked
+    public void setContentHash(ContentHasher hasher) {
+        this.contentHashHigh = hasher.getHigh();
+        this.contentHashLow = hasher.getLow();
+        this.contentHashed = bidders instanceof BidderList;
+        if (contentHashed) {
+            this.hashedListChanges = ((BidderList) bidders).getChanges();
+            this.hashedBidderChanges = getBidderChanges();
+        }
+    }
+
+    // false as soon as a bidder is added, removed or replaced or one of the bidders is changed. The changes of a bidder
+    // only grow so their sum is unchanged only when none of them changed
+    public boolean hasContentHash() {
+        return contentHashed
+                && bidders instanceof BidderList
+                && ((BidderList) bidders).getChanges() == hashedListChanges
+                && getBidderChanges() == hashedBidderChanges;
+    }
+
+    private long getBidderChanges() {
+        long changes = 0;
+        for (int i = 0; i < bidders.size(); i++) {
+            changes += bidders.get(i).getChanges();
+        }
+        return changes;
+    }
+
+    // topK and rankOf don't see the bidders changed in place once the index is built, evaluate always does
+    public RankIndex getRankIndex() {
+        if (rankIndex == null) {
+            rankIndex = new RankIndex(CollectionUtils.isEmpty(bidders) ? Collections.emptyList() : bidders);
+        }
+        return rankIndex;
+    }
+
+    public List<Bidder> topK(int k) {
+        return getRankIndex().topK(k);
+    }
+
+    public int rankOf(Bidder bidder) {
+        return getRankIndex().rankOf(bidder);
+    }
 
     public AuctionResult calculateAuctionResult() {
+        AuctionOutcome outcome = evaluate();
+        if (!outcome.isWon()) {
+            throw outcome.toException();
+        }
+        return outcome.getResult();
+    }
 
-        if (CollectionUtils.isEmpty(bidders)) {
-            throw new FunctionalException("No bidders, the auction is cancelled");
+    public AuctionOutcome evaluate() {
+        if (!Metrics.ENABLED) {
+            return evaluateBidders();
         }
+        long start = System.nanoTime();
+        AuctionOutcome outcome = evaluateBidders();
+        int bidCount = 0;
+        for (Bidder bidder : CollectionUtils.isEmpty(bidders) ? Collections.<Bidder>emptyList() : bidders) {
+            bidCount += bidder.getBidCount();
+        }
+        Metrics.recordEvaluation(outcome, bidCount, start);
+        return outcome;
+    }
 
-        Map<Bidder, Integer> maxBidByBidder = bidders
-                .stream()
-                .filter(bidder -> CollectionUtils.isNotEmpty(bidder.getBids()))
-                .collect(Collectors.toMap(bidder -> bidder, bidder -> Collections.max(bidder.getBids())));
+    private AuctionOutcome evaluateBidders() {
+        if (CollectionUtils.isEmpty(bidders)) {
+            return AuctionOutcome.cancelled(name, reservePrice, CancellationReason.NO_BIDDERS);
+        }
 
-        Optional<Map.Entry<Bidder, Integer>> winner = maxBidByBidder.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .filter(entry -> entry.getValue() >= reservePrice);
+        // a bidder bidding on several lines is considered as a single bidder. The rank index is not reused since the bidders
+        // may have been changed in place after it was built, grouping them again is cheap with the groups of the thread
+        BidderGroups groups = BidderGroups.local(bidders);
+        TopBids topBids = groups.topBids();
 
-        if (winner.isEmpty()) {
-            throw new FunctionalException("The auction '" + this.name +"' is cancelled because the reserve price '" + this.reservePrice +"' has not been reached");
+        if (!topBids.hasBids() || topBids.getBestBid() < reservePrice) {
+            return AuctionOutcome.cancelled(name, reservePrice, CancellationReason.RESERVE_PRICE_NOT_REACHED);
         }
 
         // The case of multiple winners
-        List<String> allWinners = maxBidByBidder.entrySet().stream()
-                .filter(entry -> entry.getValue().equals(winner.get().getValue()))
-                .map(entry -> entry.getKey().getName())
-                .collect(Collectors.toList());
-
-        if (allWinners.size() == 1) {
-            int winningPrice = getWinningPrice(maxBidByBidder, winner.get());
-            if (winningPrice <= 0) {
-                throw new FunctionalException("The auction '" + this.name +"' is cancelled because the winning price must be > 0. Please check your data");
+        if (topBids.getBestBidCount() > 1) {
+            List<String> winners = new ArrayList<>(topBids.getBestBidCount());
+            for (int group = 0; group < groups.size(); group++) {
+                if (groups.hasBids(group) && groups.getMaxBid(group) == topBids.getBestBid()) {
+                    winners.add(groups.getName(group));
+                }
             }
-            return new AuctionResult(this.name, winner.get().getKey(), winningPrice);
+            return AuctionOutcome.tie(name, reservePrice, winners, topBids.getBestBid());
         }
 
-        if (allWinners.size() > 1) {
-            String winners = String.join(", ", allWinners);
-            throw new FunctionalException("The auction '" + this.name +"' is cancelled because bidders '" + winners + "' had the same bid : '" + winner.get().getValue() + "'");
+        int winningPrice = topBids.getWinningPrice(reservePrice);
+        if (winningPrice <= 0) {
+            return AuctionOutcome.cancelled(name, reservePrice, CancellationReason.NON_POSITIVE_WINNING_PRICE);
         }
-        throw new TechnicalException("We weren't able to calculate the auction winner please report the bug");
-    }
-
-    private Integer getWinningPrice(Map<Bidder, Integer> maxBidByBidder, Map.Entry<Bidder, Integer> winner) {
-        // exclude the winner to get the highest bid price from a non-winning bidder or the reservePrice
-        return maxBidByBidder.entrySet().stream()
-                .filter(entry -> entry.getKey() != winner.getKey())
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getValue)
-                .filter(bid -> bid >= reservePrice)
-                .orElse(reservePrice);
+        return AuctionOutcome.won(new AuctionResult(name, groups.getBidder(topBids.getWinnerIndex()), winningPrice), reservePrice);
     }
 }
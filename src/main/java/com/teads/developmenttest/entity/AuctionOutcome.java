@@ -0,0 +1,72 @@
+package com.teads.developmenttest.entity;
+
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import lombok.*;
+
+import java.util.Collections;
+import java.util.List;
+
+// Result of an auction that doesn't throw when the auction is cancelled, the messages are only built when asked for
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode
+@ToString
+public class AuctionOutcome {
+    private final String auctionName;
+    private final int reservePrice;
+    private final AuctionResult result;
+    private final CancellationReason cancellationReason;
+    private final List<String> tiedBidders;
+    private final int tiedBid;
+
+    public static AuctionOutcome won(AuctionResult result, int reservePrice) {
+        return new AuctionOutcome(result.getAuctionName(), reservePrice, result, null, Collections.emptyList(), 0);
+    }
+
+    public static AuctionOutcome cancelled(String auctionName, int reservePrice, CancellationReason reason) {
+        return new AuctionOutcome(auctionName, reservePrice, null, reason, Collections.emptyList(), 0);
+    }
+
+    public static AuctionOutcome tie(String auctionName, int reservePrice, List<String> tiedBidders, int tiedBid) {
+        return new AuctionOutcome(auctionName, reservePrice, null, CancellationReason.TIE, tiedBidders, tiedBid);
+    }
+
+    public boolean isWon() {
+        return result != null;
+    }
+
+    public String getMessage() {
+        return appendMessage(new StringBuilder()).toString();
+    }
+
+    // the only place where the messages are written, the text results are appended through it too
+    public StringBuilder appendMessage(StringBuilder builder) {
+        if (isWon()) {
+            return builder.append("The auction '").append(auctionName).append("' were won by '").append(result.getWinner().getName())
+                    .append("' at the price of '").append(result.getWinningPrice()).append("'");
+        }
+        switch (cancellationReason) {
+            case NO_BIDDERS:
+                return builder.append("No bidders, the auction is cancelled");
+            case RESERVE_PRICE_NOT_REACHED:
+                return builder.append("The auction '").append(auctionName).append("' is cancelled because the reserve price '")
+                        .append(reservePrice).append("' has not been reached");
+            case TIE:
+                builder.append("The auction '").append(auctionName).append("' is cancelled because bidders '");
+                for (int i = 0; i < tiedBidders.size(); i++) {
+                    if (i > 0) {
+                        builder.append(", ");
+                    }
+                    builder.append(tiedBidders.get(i));
+                }
+                return builder.append("' had the same bid : '").append(tiedBid).append("'");
+            default:
+                return builder.append("The auction '").append(auctionName)
+                        .append("' is cancelled because the winning price must be > 0. Please check your data");
+        }
+    }
+
+    public FunctionalException toException() {
+        return new FunctionalException(getMessage());
+    }
+}
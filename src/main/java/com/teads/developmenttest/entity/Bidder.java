@@ -2,15 +2,135 @@ package com.teads.developmenttest.entity;
 
 import lombok.*;
 
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
-@Getter
-@Setter
 @NoArgsConstructor
-@AllArgsConstructor
-@EqualsAndHashCode
-@ToString
 public class Bidder {
-    private String name;
-    private List<Integer> bids;
+    private static final int[] NO_BIDS = new int[0];
+
+    @Getter
+    private BidderIdentity identity;
+    // bids are kept unboxed, only the first bidCount values of the array are used
+    private int[] bids = NO_BIDS;
+    private int bidCount;
+    private int maxBid = Integer.MIN_VALUE;
+    // changes of the name or the bids, read by the auction to drop its hash when a bidder is changed in place
+    private int changes;
+
+    public Bidder(String name, List<Integer> bids) {
+        this.identity = BidderIdentity.unregistered(name);
+        setBids(bids);
+    }
+
+    public Bidder(String name, int[] bids, int bidCount) {
+        this(BidderIdentity.unregistered(name), bids, bidCount);
+    }
+
+    public Bidder(BidderIdentity identity, int[] bids, int bidCount) {
+        this.identity = identity;
+        this.bids = Arrays.copyOf(bids, bidCount);
+        this.bidCount = bidCount;
+        for (int i = 0; i < bidCount; i++) {
+            maxBid = Math.max(maxBid, bids[i]);
+        }
+    }
+
+    public String getName() {
+        return identity == null ? null : identity.getName();
+    }
+
+    public void setName(String name) {
+        this.identity = BidderIdentity.unregistered(name);
+        changes++;
+    }
+
+    public void addBid(int bid) {
+        if (bidCount == bids.length) {
+            bids = Arrays.copyOf(bids, Math.max(4, bidCount * 2));
+        }
+        bids[bidCount++] = bid;
+        maxBid = Math.max(maxBid, bid);
+        changes++;
+    }
+
+    public boolean hasBids() {
+        return bidCount > 0;
+    }
+
+    public int getBidCount() {
+        return bidCount;
+    }
+
+    public int getBid(int index) {
+        if (index >= bidCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + bidCount + " bids");
+        }
+        return bids[index];
+    }
+
+    // only meaningful when the bidder has bids
+    public int getMaxBid() {
+        return maxBid;
+    }
+
+    int getChanges() {
+        return changes;
+    }
+
+    public int[] toBidArray() {
+        return Arrays.copyOf(bids, bidCount);
+    }
+
+    // read only view on the bids
+    public List<Integer> getBids() {
+        return new AbstractList<>() {
+            @Override
+            public Integer get(int index) {
+                return getBid(index);
+            }
+
+            @Override
+            public int size() {
+                return bidCount;
+            }
+        };
+    }
+
+    public void setBids(List<Integer> bids) {
+        this.bids = new int[bids == null ? 0 : bids.size()];
+        this.bidCount = 0;
+        this.maxBid = Integer.MIN_VALUE;
+        this.changes++;
+        if (bids != null) {
+            bids.forEach(this::addBid);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Bidder)) {
+            return false;
+        }
+        Bidder other = (Bidder) o;
+        return (identity == other.identity || Objects.equals(getName(), other.getName()))
+                && Arrays.equals(bids, 0, bidCount, other.bids, 0, other.bidCount);
+    }
+
+    // the name is enough to spread bidders, hashing the bids would make it O(bids)
+    @Override
+    public int hashCode() {
+        String name = getName();
+        return name == null ? 43 : name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Bidder(name=" + getName() + ", bids=" + getBids() + ")";
+    }
 }
@@ -0,0 +1,34 @@
+package com.teads.developmenttest.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Maps bidder names to shared identities with dense ids, safe to use from several parsing threads
+public class BidderDictionary {
+    private final ConcurrentHashMap<String, BidderIdentity> identitiesByName = new ConcurrentHashMap<>();
+    private final List<BidderIdentity> identitiesById = new ArrayList<>();
+
+    public BidderIdentity intern(String name) {
+        BidderIdentity identity = identitiesByName.get(name);
+        return identity != null ? identity : register(name);
+    }
+
+    public synchronized BidderIdentity get(int id) {
+        return identitiesById.get(id);
+    }
+
+    public synchronized int size() {
+        return identitiesById.size();
+    }
+
+    private synchronized BidderIdentity register(String name) {
+        BidderIdentity identity = identitiesByName.get(name);
+        if (identity == null) {
+            identity = new BidderIdentity(identitiesById.size(), name);
+            identitiesById.add(identity);
+            identitiesByName.put(name, identity);
+        }
+        return identity;
+    }
+}
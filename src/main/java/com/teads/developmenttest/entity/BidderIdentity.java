@@ -0,0 +1,30 @@
+package com.teads.developmenttest.entity;
+
+import lombok.Getter;
+
+// Name of a bidder shared by all its bids, identities of a dictionary are unique per name and have a dense id
+@Getter
+public final class BidderIdentity {
+    public static final int UNREGISTERED_ID = -1;
+
+    private final int id;
+    private final String name;
+
+    BidderIdentity(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public static BidderIdentity unregistered(String name) {
+        return new BidderIdentity(UNREGISTERED_ID, name);
+    }
+
+    public boolean isRegistered() {
+        return id != UNREGISTERED_ID;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
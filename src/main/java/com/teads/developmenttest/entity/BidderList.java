@@ -0,0 +1,67 @@
+package com.teads.developmenttest.entity;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+// Bidders of an auction counting their changes, replacing a bidder included, so that the hash of the auction can be
+// dropped when the list is changed in place
+final class BidderList extends AbstractList<Bidder> implements RandomAccess {
+    private Bidder[] elements = new Bidder[4];
+    private int size;
+    private int changes;
+
+    @Override
+    public Bidder get(int index) {
+        checkIndex(index, size);
+        return elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Bidder set(int index, Bidder bidder) {
+        checkIndex(index, size);
+        Bidder previous = elements[index];
+        elements[index] = bidder;
+        changes++;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Bidder bidder) {
+        checkIndex(index, size + 1);
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = bidder;
+        size++;
+        modCount++;
+        changes++;
+    }
+
+    @Override
+    public Bidder remove(int index) {
+        checkIndex(index, size);
+        Bidder previous = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        modCount++;
+        changes++;
+        return previous;
+    }
+
+    int getChanges() {
+        return changes;
+    }
+
+    private static void checkIndex(int index, int length) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.teads.developmenttest.entity;
+
+public enum CancellationReason {
+    NO_BIDDERS,
+    RESERVE_PRICE_NOT_REACHED,
+    TIE,
+    NON_POSITIVE_WINNING_PRICE
+}
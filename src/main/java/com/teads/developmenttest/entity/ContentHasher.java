@@ -0,0 +1,73 @@
+package com.teads.developmenttest.entity;
+
+import java.util.List;
+
+// Two independent 64 bits hashes of the content of an auction fed in reading order: the characters of the auction name
+// then its length, the reserve price, for each bidder the characters of its name then its length and its bids then their
+// count, and last the number of bidders. A length or count follows the values it closes so that a parser can hash the
+// values as it scans them
+public final class ContentHasher {
+    private static final long MULTIPLIER_HIGH = 0x9E3779B97F4A7C15L;
+    private static final long MULTIPLIER_LOW = 0xC2B2AE3D27D4EB4FL;
+
+    private long high;
+    private long low;
+
+    public ContentHasher() {
+        reset();
+    }
+
+    public static ContentHasher of(Auction auction) {
+        ContentHasher hasher = new ContentHasher();
+        hasher.addName(auction.getName());
+        hasher.add(auction.getReservePrice());
+        List<Bidder> bidders = auction.getBidders() == null ? List.of() : auction.getBidders();
+        for (Bidder bidder : bidders) {
+            hasher.addName(bidder.getName());
+            for (int i = 0; i < bidder.getBidCount(); i++) {
+                hasher.add(bidder.getBid(i));
+            }
+            hasher.add(bidder.getBidCount());
+        }
+        hasher.add(bidders.size());
+        return hasher;
+    }
+
+    public void reset() {
+        high = 1;
+        low = 7;
+    }
+
+    public void add(int value) {
+        high = (high ^ value) * MULTIPLIER_HIGH;
+        low = Long.rotateLeft(low + value, 31) * MULTIPLIER_LOW;
+    }
+
+    public long getHigh() {
+        return mix(high);
+    }
+
+    public long getLow() {
+        return mix(low);
+    }
+
+    private void addName(String name) {
+        if (name == null) {
+            add(-1);
+            return;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            add(name.charAt(i));
+        }
+        add(name.length());
+    }
+
+    // murmur3 finalizer
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
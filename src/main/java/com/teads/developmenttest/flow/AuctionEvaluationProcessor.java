@@ -0,0 +1,115 @@
+package com.teads.developmenttest.flow;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Evaluates the auctions of an upstream publisher for a single downstream subscriber. Each outcome requested downstream
+// is requested as one auction upstream, and an auction is evaluated on the thread delivering it
+public class AuctionEvaluationProcessor implements Flow.Processor<Auction, AuctionOutcome> {
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private Flow.Subscriber<? super AuctionOutcome> downstream;
+    private Flow.Subscription upstream;
+    // demand and cancellation received before the upstream subscription
+    private long pendingDemand;
+    private boolean pendingCancel;
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super AuctionOutcome> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("An evaluation processor accepts a single subscriber"));
+            return;
+        }
+        synchronized (this) {
+            downstream = subscriber;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                Flow.Subscription subscription;
+                synchronized (AuctionEvaluationProcessor.this) {
+                    subscription = upstream;
+                    if (subscription == null) {
+                        pendingDemand = addDemand(pendingDemand, n);
+                        return;
+                    }
+                }
+                subscription.request(n);
+            }
+
+            @Override
+            public void cancel() {
+                Flow.Subscription subscription;
+                synchronized (AuctionEvaluationProcessor.this) {
+                    subscription = upstream;
+                    if (subscription == null) {
+                        pendingCancel = true;
+                        return;
+                    }
+                }
+                subscription.cancel();
+            }
+        });
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        long demand;
+        boolean cancel;
+        synchronized (this) {
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            demand = pendingDemand;
+            cancel = pendingCancel;
+        }
+        if (cancel) {
+            subscription.cancel();
+        } else if (demand != 0) {
+            subscription.request(demand);
+        }
+    }
+
+    @Override
+    public void onNext(Auction auction) {
+        downstream().onNext(auction.evaluate());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        downstream().onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        downstream().onComplete();
+    }
+
+    // an invalid demand is kept so that the upstream publisher reports it
+    private static long addDemand(long demand, long n) {
+        if (demand < 0 || n <= 0) {
+            return demand < 0 ? demand : n;
+        }
+        return demand + n < 0 ? Long.MAX_VALUE : demand + n;
+    }
+
+    private synchronized Flow.Subscriber<? super AuctionOutcome> downstream() {
+        if (downstream == null) {
+            throw new IllegalStateException("The evaluation processor must be subscribed to before it receives auctions");
+        }
+        return downstream;
+    }
+}
@@ -0,0 +1,161 @@
+package com.teads.developmenttest.flow;
+
+import com.teads.developmenttest.entity.Auction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Publishes the auctions of a reader to a single subscriber. An auction is only parsed once it has been requested, so a
+// slow subscriber never makes the reader run ahead. The reader is closed on completion, on error and on cancellation.
+// Auctions are emitted from the executor, one emission at a time
+public class AuctionPublisher implements Flow.Publisher<Auction> {
+    private final Iterator<Auction> auctions;
+    private final Closeable source;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public AuctionPublisher(Iterator<Auction> auctions, Closeable source) {
+        this(auctions, source, ForkJoinPool.commonPool());
+    }
+
+    // source is closed when the publication ends, it may be null
+    public AuctionPublisher(Iterator<Auction> auctions, Closeable source, Executor executor) {
+        this.auctions = auctions;
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Auction> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("An auction publisher accepts a single subscriber"));
+            return;
+        }
+        Subscription subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super Auction> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        // number of drain requests not handled yet, only the caller moving it from 0 runs the drain loop
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private boolean done;
+
+        private Subscription(Flow.Subscriber<? super Auction> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("The demand must be > 0, found " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (pendingDrains.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            try {
+                do {
+                    emit();
+                    missed = pendingDrains.addAndGet(-missed);
+                } while (missed != 0);
+            } catch (Throwable e) {
+                // a terminal signal threw, the publication is over and the next requests must still find no drain running
+                if (!done) {
+                    finish();
+                }
+                pendingDrains.set(0);
+                throw e;
+            }
+        }
+
+        private void emit() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (invalidRequest != null) {
+                finish();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+            while (demand.get() > 0 && !cancelled) {
+                Auction auction;
+                try {
+                    auction = auctions.hasNext() ? auctions.next() : null;
+                } catch (Throwable e) {
+                    finish();
+                    subscriber.onError(e);
+                    return;
+                }
+                if (auction == null) {
+                    finish();
+                    subscriber.onComplete();
+                    return;
+                }
+                demand.decrementAndGet();
+                try {
+                    subscriber.onNext(auction);
+                } catch (Throwable e) {
+                    // a subscriber which throws is considered cancelled and is not signalled anymore, the failure is
+                    // reported on the error output since the subscriber can't be told (rule 2.13)
+                    cancelled = true;
+                    finish();
+                    System.err.println("ERROR: The subscriber of the auctions failed and has been cancelled: " + e);
+                    return;
+                }
+            }
+            if (cancelled) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            done = true;
+            if (source != null) {
+                try {
+                    source.close();
+                } catch (IOException e) {
+                    // nothing more will be read
+                }
+            }
+        }
+    }
+}
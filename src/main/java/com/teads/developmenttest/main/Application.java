@@ -1,41 +1,271 @@
 package com.teads.developmenttest.main;
 
+import com.teads.developmenttest.binary.BinaryAuctionConverter;
+import com.teads.developmenttest.binary.BinaryAuctionLoader;
+import com.teads.developmenttest.engine.AuctionEngine;
+import com.teads.developmenttest.engine.AuctionPipeline;
+import com.teads.developmenttest.engine.EvaluationCache;
+import com.teads.developmenttest.engine.ReserveSweep;
 import com.teads.developmenttest.entity.Auction;
-import com.teads.developmenttest.entity.AuctionResult;
 import com.teads.developmenttest.exception.functional.FunctionalException;
 import com.teads.developmenttest.exception.technical.TechnicalException;
+import com.teads.developmenttest.metrics.Metrics;
+import com.teads.developmenttest.metrics.MetricsReporter;
+import com.teads.developmenttest.output.ResultSink;
+import com.teads.developmenttest.output.WriterResultSink;
+import com.teads.developmenttest.server.AuctionServer;
+import com.teads.developmenttest.shard.ShardCoordinator;
+import com.teads.developmenttest.store.OffHeapAuctionStore;
+import com.teads.developmenttest.util.AuctionCheckpoint;
+import com.teads.developmenttest.util.AuctionDirectoryTailer;
+import com.teads.developmenttest.util.AuctionReader;
+import com.teads.developmenttest.util.LenientAuctionRunner;
+import com.teads.developmenttest.util.MappedAuctionReader;
+import com.teads.developmenttest.util.ParallelAuctionParser;
 import com.teads.developmenttest.util.ReaderUtil;
-import org.apache.commons.lang3.StringUtils;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class Application {
-    public static void main(String[] args) throws IOException {
-        final String defaultPath = "data/auctionInputs.txt";
-        String filePath;
-        if (args.length != 0 && StringUtils.isNotBlank(args[0])) {
-            filePath = args[0];
+    public static void main(String[] args) throws IOException, InterruptedException {
+        ApplicationOptions options = ApplicationOptions.parse(args);
+        if (options.getMetricsPeriod() <= 0) {
+            run(options);
+            return;
+        }
+        enableMetrics();
+        try (MetricsReporter reporter = new MetricsReporter(System.err, options.getMetricsPeriod())) {
+            run(options);
+        }
+    }
+
+    // Metrics reads the property once when it is initialized, which nothing run before the options are parsed does
+    private static void enableMetrics() {
+        System.setProperty(Metrics.ENABLED_PROPERTY, "true");
+        if (!Metrics.ENABLED) {
+            throw new TechnicalException("The metrics have been initialized before being enabled, run with '-D" + Metrics.ENABLED_PROPERTY + "=true'");
+        }
+    }
+
+    private static void run(ApplicationOptions options) throws IOException, InterruptedException {
+        if (options.getRanges() != null) {
+            // a worker of the coordinator reports a malformed auction by its exit code
+            try (ResultSink sink = openSink(options)) {
+                evaluate(options, sink);
+            } catch (FunctionalException e) {
+                System.err.println("ERROR: " + e.getMessage());
+                System.exit(ShardCoordinator.FUNCTIONAL_ERROR_EXIT_CODE);
+            }
+            return;
+        }
+        if (options.getShards() > 0) {
+            runShards(options);
+            return;
+        }
+        if (options.getServerPort() >= 0) {
+            try (AuctionServer server = new AuctionServer(options.getServerPort(), options.getConnections(), options.getFormat(),
+                    options.getIdleTimeout() * 1000)) {
+                System.out.println("Listening for auctions on port " + server.getPort());
+                server.awaitTermination();
+            }
+            return;
+        }
+        if (options.getTailDirectory() != null) {
+            try (ResultSink sink = openSink(options);
+                 AuctionDirectoryTailer tailer = new AuctionDirectoryTailer(Path.of(options.getTailDirectory()), options.getTailGlob(),
+                         options.isTailFromEnd(), sink)) {
+                System.err.println("Following the files '" + options.getTailGlob() + "' of '" + options.getTailDirectory() + "'");
+                tailer.run();
+            }
+            return;
+        }
+        String filePath = options.getFilePath();
+        // the results alone are written to the standard output so that it can be read as CSV or JSON
+        System.err.println();
+        System.err.println("Reading file '" + filePath + "'");
+
+        if (options.getConvertTo() != null) {
+            try (AuctionReader reader = AuctionReader.open(filePath)) {
+                int auctionCount = BinaryAuctionConverter.convert(reader, Path.of(options.getConvertTo()));
+                System.out.println(auctionCount + " auctions written to '" + options.getConvertTo() + "'");
+            }
+            return;
+        }
+
+        if (options.isLenient()) {
+            runLenient(options);
+            return;
+        }
+
+        try (ResultSink sink = openSink(options)) {
+            evaluate(options, sink);
+        }
+    }
+
+    private static void evaluate(ApplicationOptions options, ResultSink sink) throws IOException {
+        if (options.isBinary()) {
+            try (BinaryAuctionLoader loader = new BinaryAuctionLoader(Path.of(options.getFilePath()))) {
+                loader.evaluateAll(sink::write);
+            }
+            return;
+        }
+        if (options.isOffHeap()) {
+            OffHeapAuctionStore store;
+            if (options.isMemoryMapped()) {
+                try (MappedAuctionReader reader = new MappedAuctionReader(Path.of(options.getFilePath()))) {
+                    store = OffHeapAuctionStore.of(reader);
+                }
+            } else {
+                try (AuctionReader reader = AuctionReader.open(options.getFilePath())) {
+                    store = OffHeapAuctionStore.of(reader);
+                }
+            }
+            store.evaluateAll(sink::write);
+            return;
+        }
+        if (options.getSweepReservePrices() != null) {
+            sweep(options, sink);
+            return;
+        }
+        if (!options.isCache()) {
+            evaluate(options, sink, null);
+            return;
+        }
+
+        Path cacheFile = options.getCacheFile() == null ? null : Path.of(options.getCacheFile());
+        EvaluationCache cache = cacheFile == null ? new EvaluationCache(options.getCacheSize()) : EvaluationCache.load(cacheFile, options.getCacheSize());
+        try {
+            evaluate(options, sink, cache);
+        } finally {
+            System.err.println("Cache: " + cache.getHitCount() + " hits, " + cache.getMissCount() + " misses");
+        }
+        if (cacheFile != null) {
+            cache.save(cacheFile);
+        }
+    }
+
+    private static void evaluate(ApplicationOptions options, ResultSink sink, EvaluationCache cache) throws IOException {
+        String filePath = options.getFilePath();
+
+        if (options.isPipeline()) {
+            if (options.isMemoryMapped()) {
+                try (MappedAuctionReader reader = new MappedAuctionReader(Path.of(filePath))) {
+                    runPipeline(reader, options, sink, cache);
+                }
+            } else {
+                try (AuctionReader reader = AuctionReader.open(filePath)) {
+                    runPipeline(reader, options, sink, cache);
+                }
+            }
+            return;
+        }
+
+        try (AuctionEngine engine = new AuctionEngine(options.getParallelism(), cache)) {
+            if (options.getRanges() != null) {
+                for (int i = 0; i < options.getRanges().size(); i++) {
+                    long[] range = options.getRanges().get(i);
+                    // only the range starting a file can't be blank, the other ones follow a separator
+                    try (MappedAuctionReader reader = new MappedAuctionReader(Path.of(options.getFilePaths().get(i)), range[0], range[1], range[0] == 0)) {
+                        engine.evaluateAll(reader, sink);
+                    }
+                }
+                return;
+            }
+
+            if (options.getParseParallelism() > 1) {
+                engine.evaluateAll(ParallelAuctionParser.parse(Path.of(filePath), options.getParseParallelism()), sink);
+                return;
+            }
+
+            if (options.isMemoryMapped()) {
+                try (MappedAuctionReader reader = new MappedAuctionReader(Path.of(filePath))) {
+                    engine.evaluateAll(reader, sink);
+                }
+                return;
+            }
+
+            if (options.isStreaming()) {
+                try (AuctionReader reader = AuctionReader.open(filePath)) {
+                    engine.evaluateAll(reader, sink);
+                }
+                return;
+            }
+
+            String input = ReaderUtil.readInput(filePath);
+            List<List<String>> auctionDefinitions = ReaderUtil.validateAndFormatInput(input);
+            List<Auction> auctionsList = ReaderUtil.convertToEntityList(auctionDefinitions);
+
+            engine.evaluateAll(auctionsList, sink);
+        }
+    }
+
+    // writes the outcome of each auction for each reserve price of the sweep
+    private static void sweep(ApplicationOptions options, ResultSink sink) throws IOException {
+        Consumer<ReserveSweep> writer = sweep -> {
+            for (int i = 0; i < sweep.size(); i++) {
+                sink.writeSweepOutcome(sweep.getOutcome(i));
+            }
+        };
+        if (options.isMemoryMapped()) {
+            try (MappedAuctionReader reader = new MappedAuctionReader(Path.of(options.getFilePath()))) {
+                ReserveSweep.sweepAll(reader, options.getSweepReservePrices(), writer);
+            }
         } else {
-            filePath = defaultPath;
+            try (AuctionReader reader = AuctionReader.open(options.getFilePath())) {
+                ReserveSweep.sweepAll(reader, options.getSweepReservePrices(), writer);
+            }
         }
-        System.out.println();
-        System.out.println("Reading file '" + filePath + "'");
-        String input = ReaderUtil.readInput(filePath);
-        List<List<String>> auctionDefinitions = ReaderUtil.validateAndFormatInput(input);
-        List<Auction> auctionsList = ReaderUtil.convertToEntityList(auctionDefinitions);
+    }
 
-        for (Auction auction : auctionsList) {
-            try {
-                System.out.println(formatResult(auction.calculateAuctionResult()));
-            } catch (TechnicalException | FunctionalException e) {
-                System.out.println(e.getMessage());
+    private static void runShards(ApplicationOptions options) throws IOException, InterruptedException {
+        List<Path> inputs = options.getFilePaths().stream().map(Path::of).collect(Collectors.toList());
+        List<String> jvmOptions = options.getWorkerJvmOptions() == null ? List.of() : List.of(options.getWorkerJvmOptions().trim().split("\\s+"));
+        ShardCoordinator coordinator = new ShardCoordinator(options.getShards(), options.getShardRetries(), options.getFormat(),
+                jvmOptions, List.of("--parallelism=" + options.getParallelism()));
+        if (options.getOutput() == null) {
+            coordinator.run(inputs, System.out);
+            return;
+        }
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(Path.of(options.getOutput())))) {
+            coordinator.run(inputs, output);
+        }
+    }
+
+    private static void runLenient(ApplicationOptions options) throws IOException {
+        Path checkpointFile = options.getCheckpointFile() == null ? null : Path.of(options.getCheckpointFile());
+        LenientAuctionRunner runner = new LenientAuctionRunner(Path.of(options.getFilePath()), Path.of(options.getErrorFile()),
+                checkpointFile, options.getCheckpointInterval());
+        AuctionCheckpoint checkpoint;
+        if (options.getOutput() != null) {
+            checkpoint = runner.run(Path.of(options.getOutput()), options.getFormat());
+        } else {
+            try (ResultSink sink = openSink(options)) {
+                checkpoint = runner.run(sink);
             }
         }
+        System.err.println(checkpoint.getAuctionCount() + " auctions evaluated, " + checkpoint.getErrorCount()
+                + " malformed auctions written to '" + options.getErrorFile() + "'");
     }
 
-    private static String formatResult(AuctionResult result) {
-        return "The auction '" + result.getAuctionName() + "' were won by '" + result.getWinner().getName() + "' at the price of '" + result.getWinningPrice() + "'";
+    private static ResultSink openSink(ApplicationOptions options) throws IOException {
+        if (options.getOutput() == null) {
+            return WriterResultSink.toStandardOutput(options.getFormat());
+        }
+        return WriterResultSink.toFile(Path.of(options.getOutput()), options.getFormat());
+    }
+
+    private static void runPipeline(Iterator<Auction> auctions, ApplicationOptions options, ResultSink sink, EvaluationCache cache) {
+        try (AuctionPipeline pipeline = new AuctionPipeline(options.getParallelism(), cache)) {
+            pipeline.run(auctions, sink);
+        }
     }
 
 }
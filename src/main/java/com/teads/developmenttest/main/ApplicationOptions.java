@@ -0,0 +1,280 @@
+package com.teads.developmenttest.main;
+
+import com.teads.developmenttest.engine.ReserveSweep;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.output.ResultFormat;
+import com.teads.developmenttest.server.AuctionServer;
+import com.teads.developmenttest.shard.ShardCoordinator;
+import com.teads.developmenttest.util.LenientAuctionRunner;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class ApplicationOptions {
+    public static final String DEFAULT_PATH = "data/auctionInputs.txt";
+    public static final int DEFAULT_METRICS_PERIOD = 10;
+    public static final int DEFAULT_CACHE_SIZE = 100_000;
+    public static final int DEFAULT_CONNECTIONS = 64;
+    public static final String DEFAULT_TAIL_GLOB = "*";
+
+    private String filePath = DEFAULT_PATH;
+    // several input files are only evaluated with --shards
+    private List<String> filePaths = List.of(DEFAULT_PATH);
+    private boolean streaming;
+    private boolean memoryMapped;
+    private int parallelism = 1;
+    private int parseParallelism = 1;
+    private boolean binary;
+    private boolean offHeap;
+    private boolean pipeline;
+    // seconds between two metrics summaries, the metrics are off when 0
+    private int metricsPeriod;
+    private boolean cache;
+    // port of the server mode, -1 when the file is evaluated once
+    private int serverPort = -1;
+    private int connections = DEFAULT_CONNECTIONS;
+    private int idleTimeout = AuctionServer.DEFAULT_IDLE_TIMEOUT_SECONDS;
+    // reserve prices of a sweep, null when the auctions are evaluated with their own reserve price
+    private int[] sweepReservePrices;
+    private String cacheFile;
+    private int cacheSize = DEFAULT_CACHE_SIZE;
+    private String convertTo;
+    // number of worker JVMs of the coordinator mode, 0 when the file is evaluated in this JVM
+    private int shards;
+    private int shardRetries = ShardCoordinator.DEFAULT_RETRIES;
+    private String workerJvmOptions;
+    // [start, end) byte ranges of the input files evaluated by a worker, one per file, null when the whole file is evaluated
+    private List<long[]> ranges;
+    // directory followed by the tail mode, null when the file is evaluated once
+    private String tailDirectory;
+    private String tailGlob = DEFAULT_TAIL_GLOB;
+    private boolean tailFromEnd;
+    private boolean lenient;
+    // files of the lenient mode, the error file defaults to the input file followed by '.errors'
+    private String errorFile;
+    private String checkpointFile;
+    private int checkpointInterval = LenientAuctionRunner.DEFAULT_CHECKPOINT_INTERVAL;
+    private String output;
+    private ResultFormat format = ResultFormat.TEXT;
+
+    public static ApplicationOptions parse(String[] args) {
+        ApplicationOptions options = new ApplicationOptions();
+        List<String> filePaths = new ArrayList<>();
+        for (String arg : args) {
+            if (StringUtils.isBlank(arg)) {
+                continue;
+            }
+            if (!arg.startsWith("--")) {
+                filePaths.add(arg);
+                continue;
+            }
+            String name = StringUtils.substringBefore(arg.substring(2), "=");
+            String value = arg.contains("=") ? StringUtils.substringAfter(arg, "=") : null;
+            options.apply(name, value);
+        }
+        if (options.ranges != null && options.ranges.size() != Math.max(1, filePaths.size())) {
+            throw new FunctionalException("The option '--range' expects one range per input file, found " + options.ranges.size() + " ranges and "
+                    + filePaths.size() + " files");
+        }
+        if (filePaths.size() > 1 && options.shards == 0 && options.ranges == null) {
+            throw new FunctionalException("Only one input file can be given without '--shards', found '" + filePaths.get(0) + "' and '" + filePaths.get(1) + "'");
+        }
+        options.rejectIgnoredCombinations();
+        // the workers of the coordinator run in JVMs of their own
+        if (options.metricsPeriod > 0) {
+            rejectCombination("metrics", "shards", options.shards > 0);
+        }
+        if (options.cache) {
+            // these modes don't evaluate the auctions through the cache
+            rejectCombination("cache", "binary", options.binary);
+            rejectCombination("cache", "off-heap", options.offHeap);
+            rejectCombination("cache", "sweep", options.sweepReservePrices != null);
+            rejectCombination("cache", "convert", options.convertTo != null);
+            rejectCombination("cache", "lenient", options.lenient);
+            rejectCombination("cache", "tail", options.tailDirectory != null);
+            rejectCombination("cache", "server", options.serverPort >= 0);
+            rejectCombination("cache", "shards", options.shards > 0);
+        }
+        if (!filePaths.isEmpty()) {
+            options.filePaths = filePaths;
+            options.filePath = filePaths.get(0);
+        }
+        return options;
+    }
+
+    private void apply(String name, String value) {
+        switch (name) {
+            case "streaming":
+                streaming = true;
+                break;
+            case "mmap":
+                memoryMapped = true;
+                break;
+            case "parallelism":
+                parallelism = value == null ? Runtime.getRuntime().availableProcessors() : toInt(name, value);
+                break;
+            case "parse-parallelism":
+                parseParallelism = value == null ? Runtime.getRuntime().availableProcessors() : toInt(name, value);
+                break;
+            case "metrics":
+                metricsPeriod = value == null ? DEFAULT_METRICS_PERIOD : toInt(name, value);
+                break;
+            case "cache":
+                cache = true;
+                cacheFile = value;
+                break;
+            case "cache-size":
+                cacheSize = toInt(name, requireValue(name, value));
+                break;
+            case "sweep":
+                sweepReservePrices = toSweep(name, requireValue(name, value));
+                break;
+            case "server":
+                serverPort = toInt(name, requireValue(name, value));
+                break;
+            case "connections":
+                connections = toInt(name, requireValue(name, value));
+                break;
+            case "idle-timeout":
+                idleTimeout = toInt(name, requireValue(name, value));
+                break;
+            case "pipeline":
+                pipeline = true;
+                break;
+            case "off-heap":
+                offHeap = true;
+                break;
+            case "binary":
+                binary = true;
+                break;
+            case "convert":
+                convertTo = requireValue(name, value);
+                break;
+            case "shards":
+                shards = value == null ? Runtime.getRuntime().availableProcessors() : toInt(name, value);
+                break;
+            case "shard-retries":
+                shardRetries = toInt(name, requireValue(name, value));
+                break;
+            case "worker-jvm-options":
+                workerJvmOptions = requireValue(name, value);
+                break;
+            case "range":
+                ranges = toRanges(name, requireValue(name, value));
+                break;
+            case "tail":
+                tailDirectory = requireValue(name, value);
+                break;
+            case "tail-glob":
+                tailGlob = requireValue(name, value);
+                break;
+            case "tail-from-end":
+                tailFromEnd = true;
+                break;
+            case "lenient":
+                lenient = true;
+                break;
+            case "errors":
+                errorFile = requireValue(name, value);
+                break;
+            case "checkpoint":
+                checkpointFile = requireValue(name, value);
+                break;
+            case "checkpoint-interval":
+                checkpointInterval = toInt(name, requireValue(name, value));
+                break;
+            case "output":
+                output = requireValue(name, value);
+                break;
+            case "format":
+                format = ResultFormat.of(requireValue(name, value));
+                break;
+            default:
+                throw new FunctionalException("Unknown option '--" + name + "'");
+        }
+    }
+
+    // the modes are exclusive and each of them reads the input its own way, the reading and evaluation options they would
+    // ignore are rejected
+    private void rejectIgnoredCombinations() {
+        String[] modes = {"binary", "off-heap", "sweep", "convert", "lenient", "tail", "server", "shards"};
+        boolean[] modesGiven = {binary, offHeap, sweepReservePrices != null, convertTo != null, lenient, tailDirectory != null,
+                serverPort >= 0, shards > 0};
+        String mode = null;
+        for (int i = 0; i < modes.length; i++) {
+            if (modesGiven[i]) {
+                rejectCombination(modes[i], mode, mode != null);
+                mode = modes[i];
+            }
+        }
+        if (mode != null) {
+            // the off-heap store and the sweep can read through a memory mapping, the workers of the coordinator evaluate
+            // with the parallelism they are given
+            rejectCombination("parallelism", mode, parallelism != 1 && shards == 0);
+            rejectCombination("parse-parallelism", mode, parseParallelism != 1);
+            rejectCombination("pipeline", mode, pipeline);
+            rejectCombination("streaming", mode, streaming);
+            rejectCombination("mmap", mode, memoryMapped && !offHeap && sweepReservePrices == null);
+        }
+        // the server answers on its connections and the converter writes the binary file
+        rejectCombination("output", "server", output != null && serverPort >= 0);
+        rejectCombination("output", "convert", output != null && convertTo != null);
+        // the pipeline parses on a single thread, and parsing in parallel maps the file in chunks of its own
+        rejectCombination("parse-parallelism", "pipeline", parseParallelism != 1 && pipeline);
+        rejectCombination("parse-parallelism", "mmap", parseParallelism != 1 && memoryMapped);
+        rejectCombination("parse-parallelism", "streaming", parseParallelism != 1 && streaming);
+    }
+
+    public String getErrorFile() {
+        return errorFile == null ? filePath + ".errors" : errorFile;
+    }
+
+    private static void rejectCombination(String name, String otherName, boolean otherGiven) {
+        if (otherGiven) {
+            throw new FunctionalException("The option '--" + name + "' can't be used with '--" + otherName + "'");
+        }
+    }
+
+    private static String requireValue(String name, String value) {
+        if (StringUtils.isBlank(value)) {
+            throw new FunctionalException("The option '--" + name + "' expects a value");
+        }
+        return value;
+    }
+
+    private static int[] toSweep(String name, String value) {
+        String[] bounds = value.split(":");
+        if (bounds.length != 3) {
+            throw new FunctionalException("The option '--" + name + "' expects 'min:max:step', found '" + value + "'");
+        }
+        return ReserveSweep.range(toInt(name, bounds[0]), toInt(name, bounds[1]), toInt(name, bounds[2]));
+    }
+
+    // 'start:end' ranges separated by commas
+    private static List<long[]> toRanges(String name, String value) {
+        List<long[]> ranges = new ArrayList<>();
+        for (String range : value.split(",")) {
+            String[] bounds = range.split(":");
+            if (bounds.length != 2) {
+                throw new FunctionalException("The option '--" + name + "' expects 'start:end', found '" + range + "'");
+            }
+            try {
+                ranges.add(new long[]{Long.parseLong(bounds[0]), Long.parseLong(bounds[1])});
+            } catch (NumberFormatException e) {
+                throw new FunctionalException("The option '--" + name + "' expects numbers, found '" + range + "'");
+            }
+        }
+        return ranges;
+    }
+
+    private static int toInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new FunctionalException("The option '--" + name + "' expects a number, found '" + value + "'");
+        }
+    }
+}
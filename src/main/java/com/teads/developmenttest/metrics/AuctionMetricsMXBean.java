@@ -0,0 +1,33 @@
+package com.teads.developmenttest.metrics;
+
+// Attributes exposed through JMX under MetricsReporter.OBJECT_NAME, latencies are in nanoseconds
+public interface AuctionMetricsMXBean {
+
+    long getAuctionCount();
+
+    long getBidCount();
+
+    long getBytesParsed();
+
+    double getAuctionsPerSecond();
+
+    double getBidsPerSecond();
+
+    long getWonCount();
+
+    long getNoBiddersCount();
+
+    long getReservePriceNotReachedCount();
+
+    long getTieCount();
+
+    long getNonPositiveWinningPriceCount();
+
+    long getEvaluationP50();
+
+    long getEvaluationP99();
+
+    long getEvaluationMax();
+
+    String getSummary();
+}
@@ -0,0 +1,122 @@
+package com.teads.developmenttest.metrics;
+
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.CancellationReason;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters and latencies of the application. Callers check ENABLED before measuring anything: it is read once from the
+// 'auction.metrics' system property, so the JIT removes the instrumentation when it is off
+public final class Metrics {
+    public static final String ENABLED_PROPERTY = "auction.metrics";
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final LongAdder AUCTIONS = new LongAdder();
+    private static final LongAdder BIDS = new LongAdder();
+    private static final LongAdder BYTES_PARSED = new LongAdder();
+    private static final LongAdder WON = new LongAdder();
+    private static final LongAdder[] CANCELLATIONS = new LongAdder[CancellationReason.values().length];
+    private static final LatencyHistogram[] LATENCIES = new LatencyHistogram[Stage.values().length];
+    private static volatile long startNanos = System.nanoTime();
+
+    static {
+        for (int i = 0; i < CANCELLATIONS.length; i++) {
+            CANCELLATIONS[i] = new LongAdder();
+        }
+        for (int i = 0; i < LATENCIES.length; i++) {
+            LATENCIES[i] = new LatencyHistogram();
+        }
+    }
+
+    private Metrics() {
+    }
+
+    // startNanos is a System.nanoTime() taken at the beginning of the stage
+    public static void recordStage(Stage stage, long startNanos) {
+        LATENCIES[stage.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    public static void recordEvaluation(AuctionOutcome outcome, int bidCount, long startNanos) {
+        recordStage(Stage.EVALUATE, startNanos);
+        AUCTIONS.increment();
+        BIDS.add(bidCount);
+        if (outcome.isWon()) {
+            WON.increment();
+        } else {
+            CANCELLATIONS[outcome.getCancellationReason().ordinal()].increment();
+        }
+    }
+
+    public static void addBytesParsed(long bytes) {
+        BYTES_PARSED.add(bytes);
+    }
+
+    public static long getAuctionCount() {
+        return AUCTIONS.sum();
+    }
+
+    public static long getBidCount() {
+        return BIDS.sum();
+    }
+
+    public static long getBytesParsed() {
+        return BYTES_PARSED.sum();
+    }
+
+    public static long getWonCount() {
+        return WON.sum();
+    }
+
+    public static long getCancelledCount(CancellationReason reason) {
+        return CANCELLATIONS[reason.ordinal()].sum();
+    }
+
+    public static LatencyHistogram getLatency(Stage stage) {
+        return LATENCIES[stage.ordinal()];
+    }
+
+    public static double getElapsedSeconds() {
+        return (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    public static double getAuctionsPerSecond() {
+        return getAuctionCount() / Math.max(getElapsedSeconds(), 1e-9);
+    }
+
+    public static double getBidsPerSecond() {
+        return getBidCount() / Math.max(getElapsedSeconds(), 1e-9);
+    }
+
+    public static String summary() {
+        StringBuilder summary = new StringBuilder(256);
+        summary.append(String.format(Locale.ROOT, "%d auctions (%.1f/s), %d bids (%.1f/s), %d bytes parsed, %d won",
+                getAuctionCount(), getAuctionsPerSecond(), getBidCount(), getBidsPerSecond(), getBytesParsed(), getWonCount()));
+        for (CancellationReason reason : CancellationReason.values()) {
+            summary.append(", ").append(reason.name().toLowerCase(Locale.ROOT)).append(' ').append(getCancelledCount(reason));
+        }
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram latency = getLatency(stage);
+            if (latency.getCount() > 0) {
+                summary.append(String.format(Locale.ROOT, ", %s p50 %dns p99 %dns max %dns",
+                        stage.name().toLowerCase(Locale.ROOT), latency.getValueAtPercentile(50), latency.getValueAtPercentile(99), latency.getMax()));
+            }
+        }
+        return summary.toString();
+    }
+
+    public static void reset() {
+        AUCTIONS.reset();
+        BIDS.reset();
+        BYTES_PARSED.reset();
+        WON.reset();
+        for (LongAdder cancellations : CANCELLATIONS) {
+            cancellations.reset();
+        }
+        for (LatencyHistogram latency : LATENCIES) {
+            latency.reset();
+        }
+        startNanos = System.nanoTime();
+    }
+}
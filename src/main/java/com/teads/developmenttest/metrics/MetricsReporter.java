@@ -0,0 +1,132 @@
+package com.teads.developmenttest.metrics;
+
+import com.teads.developmenttest.entity.CancellationReason;
+import com.teads.developmenttest.exception.technical.TechnicalException;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Registers the metrics in JMX and prints their summary periodically and when closed
+public class MetricsReporter implements AuctionMetricsMXBean, AutoCloseable {
+    public static final String OBJECT_NAME = "com.teads.developmenttest:type=AuctionMetrics";
+
+    private final PrintStream out;
+    private final ObjectName objectName;
+    // false when another reporter registered the metrics first, that reporter unregisters them
+    private final boolean registered;
+    private final ScheduledExecutorService scheduler;
+
+    public MetricsReporter(PrintStream out, long periodSeconds) {
+        this.out = out;
+        try {
+            objectName = new ObjectName(OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            registered = !server.isRegistered(objectName);
+            if (registered) {
+                server.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            throw new TechnicalException("Unable to register the metrics in JMX: " + e.getMessage());
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::print, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public long getAuctionCount() {
+        return Metrics.getAuctionCount();
+    }
+
+    @Override
+    public long getBidCount() {
+        return Metrics.getBidCount();
+    }
+
+    @Override
+    public long getBytesParsed() {
+        return Metrics.getBytesParsed();
+    }
+
+    @Override
+    public double getAuctionsPerSecond() {
+        return Metrics.getAuctionsPerSecond();
+    }
+
+    @Override
+    public double getBidsPerSecond() {
+        return Metrics.getBidsPerSecond();
+    }
+
+    @Override
+    public long getWonCount() {
+        return Metrics.getWonCount();
+    }
+
+    @Override
+    public long getNoBiddersCount() {
+        return Metrics.getCancelledCount(CancellationReason.NO_BIDDERS);
+    }
+
+    @Override
+    public long getReservePriceNotReachedCount() {
+        return Metrics.getCancelledCount(CancellationReason.RESERVE_PRICE_NOT_REACHED);
+    }
+
+    @Override
+    public long getTieCount() {
+        return Metrics.getCancelledCount(CancellationReason.TIE);
+    }
+
+    @Override
+    public long getNonPositiveWinningPriceCount() {
+        return Metrics.getCancelledCount(CancellationReason.NON_POSITIVE_WINNING_PRICE);
+    }
+
+    @Override
+    public long getEvaluationP50() {
+        return Metrics.getLatency(Stage.EVALUATE).getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getEvaluationP99() {
+        return Metrics.getLatency(Stage.EVALUATE).getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getEvaluationMax() {
+        return Metrics.getLatency(Stage.EVALUATE).getMax();
+    }
+
+    @Override
+    public String getSummary() {
+        return Metrics.summary();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        print();
+        if (!registered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            // already unregistered
+        }
+    }
+
+    private void print() {
+        out.println("Metrics: " + Metrics.summary());
+    }
+}
@@ -0,0 +1,10 @@
+package com.teads.developmenttest.metrics;
+
+public enum Stage {
+    READ,
+    VALIDATE,
+    CONVERT,
+    // one auction block read and parsed by a streaming reader
+    PARSE,
+    EVALUATE
+}
@@ -0,0 +1,21 @@
+package com.teads.developmenttest.output;
+
+import com.teads.developmenttest.exception.functional.FunctionalException;
+
+public enum ResultFormat {
+    // the messages of AuctionOutcome.getMessage, one per line
+    TEXT,
+    // one line per auction after a header line
+    CSV,
+    // one JSON object per line
+    JSON;
+
+    public static ResultFormat of(String name) {
+        for (ResultFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new FunctionalException("Unknown format '" + name + "', expected one of text, csv or json");
+    }
+}
@@ -0,0 +1,25 @@
+package com.teads.developmenttest.output;
+
+import com.teads.developmenttest.entity.AuctionOutcome;
+
+import java.io.Closeable;
+import java.util.List;
+
+// Destination of the outcomes of the auctions, write errors are thrown as UncheckedIOException
+public interface ResultSink extends Closeable {
+
+    void write(AuctionOutcome outcome);
+
+    default void writeAll(List<AuctionOutcome> outcomes) {
+        for (AuctionOutcome outcome : outcomes) {
+            write(outcome);
+        }
+    }
+
+    // outcome of an auction for one of the reserve prices of a sweep
+    default void writeSweepOutcome(AuctionOutcome outcome) {
+        write(outcome);
+    }
+
+    void flush();
+}
@@ -0,0 +1,260 @@
+package com.teads.developmenttest.output;
+
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.CancellationReason;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Writes the outcomes through a large buffer, the characters are written one field at a time without building a line.
+// A sink is not thread safe
+public class WriterResultSink implements ResultSink {
+    static final int BUFFER_SIZE = 1 << 16;
+    private static final String CSV_HEADER = "auction,reserve_price,status,winner,winning_price,tied_bidders,tied_bid";
+
+    private final Writer writer;
+    private final ResultFormat format;
+    private final boolean closeWriter;
+    // digits of a number are written backwards from the end of this buffer
+    private final char[] digits = new char[11];
+    private final StringBuilder message = new StringBuilder(128);
+    private char[] messageCharacters = new char[128];
+
+    public WriterResultSink(Writer writer, ResultFormat format) {
+        this(writer, format, true, true);
+    }
+
+    private WriterResultSink(Writer writer, ResultFormat format, boolean closeWriter, boolean writeHeader) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, BUFFER_SIZE);
+        this.format = format;
+        this.closeWriter = closeWriter;
+        if (format == ResultFormat.CSV && writeHeader) {
+            append(CSV_HEADER);
+            newLine();
+        }
+    }
+
+    public static WriterResultSink toFile(Path path, ResultFormat format) throws IOException {
+        return new WriterResultSink(Files.newBufferedWriter(path, Charset.defaultCharset()), format);
+    }
+
+    // the results are written after the content of the file, the CSV header only when the file is empty
+    public static WriterResultSink appendingTo(Path path, ResultFormat format) throws IOException {
+        boolean empty = !Files.exists(path) || Files.size(path) == 0;
+        Writer writer = Files.newBufferedWriter(path, Charset.defaultCharset(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return new WriterResultSink(writer, format, true, empty);
+    }
+
+    // the standard output is flushed but not closed with the sink
+    public static WriterResultSink toStandardOutput(ResultFormat format) {
+        return new WriterResultSink(new OutputStreamWriter(System.out, Charset.defaultCharset()), format, false, true);
+    }
+
+    @Override
+    public void write(AuctionOutcome outcome) {
+        switch (format) {
+            case CSV:
+                writeCsv(outcome);
+                break;
+            case JSON:
+                writeJson(outcome);
+                break;
+            default:
+                writeText(outcome);
+        }
+        newLine();
+    }
+
+    // the messages don't always show the reserve price, which is the only difference between the outcomes of an auction
+    // in a sweep, so it is added to the text line unless the message already holds it
+    @Override
+    public void writeSweepOutcome(AuctionOutcome outcome) {
+        if (format != ResultFormat.TEXT || outcome.getCancellationReason() == CancellationReason.RESERVE_PRICE_NOT_REACHED) {
+            write(outcome);
+            return;
+        }
+        writeText(outcome);
+        append(" for the reserve price '").appendInt(outcome.getReservePrice()).append('\'');
+        newLine();
+    }
+
+    // an auction that couldn't be read, written in the format of the results
+    public void writeError(String message) {
+        switch (format) {
+            case CSV:
+                appendCsv(message).append(",,ERROR,,,,");
+                break;
+            case JSON:
+                append("{\"error\":").appendJson(message).append("}");
+                break;
+            default:
+                append("ERROR: ").append(message);
+        }
+        newLine();
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closeWriter) {
+            writer.close();
+        } else {
+            writer.flush();
+        }
+    }
+
+    // the message is built in a reused builder and copied to the writer without creating a string
+    private void writeText(AuctionOutcome outcome) {
+        message.setLength(0);
+        outcome.appendMessage(message);
+        if (messageCharacters.length < message.length()) {
+            messageCharacters = new char[Math.max(message.length(), messageCharacters.length * 2)];
+        }
+        message.getChars(0, message.length(), messageCharacters, 0);
+        try {
+            writer.write(messageCharacters, 0, message.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsv(AuctionOutcome outcome) {
+        appendCsv(outcome.getAuctionName()).append(",").appendInt(outcome.getReservePrice()).append(",").append(status(outcome)).append(",");
+        if (outcome.isWon()) {
+            appendCsv(outcome.getResult().getWinner().getName()).append(",").appendInt(outcome.getResult().getWinningPrice()).append(",,");
+        } else if (outcome.getCancellationReason() == CancellationReason.TIE) {
+            append(",,");
+            // bidder names are joined with ';' in a single field
+            StringBuilder tiedBidders = new StringBuilder();
+            for (String bidder : outcome.getTiedBidders()) {
+                if (tiedBidders.length() > 0) {
+                    tiedBidders.append(';');
+                }
+                tiedBidders.append(bidder);
+            }
+            appendCsv(tiedBidders).append(",").appendInt(outcome.getTiedBid());
+        } else {
+            append(",,,");
+        }
+    }
+
+    private void writeJson(AuctionOutcome outcome) {
+        append("{\"auction\":").appendJson(outcome.getAuctionName())
+                .append(",\"reservePrice\":").appendInt(outcome.getReservePrice())
+                .append(",\"status\":\"").append(status(outcome)).append("\"");
+        if (outcome.isWon()) {
+            append(",\"winner\":").appendJson(outcome.getResult().getWinner().getName())
+                    .append(",\"winningPrice\":").appendInt(outcome.getResult().getWinningPrice());
+        } else if (outcome.getCancellationReason() == CancellationReason.TIE) {
+            append(",\"tiedBidders\":[");
+            List<String> tiedBidders = outcome.getTiedBidders();
+            for (int i = 0; i < tiedBidders.size(); i++) {
+                if (i > 0) {
+                    append(",");
+                }
+                appendJson(tiedBidders.get(i));
+            }
+            append("],\"tiedBid\":").appendInt(outcome.getTiedBid());
+        }
+        append("}");
+    }
+
+    private static String status(AuctionOutcome outcome) {
+        return outcome.isWon() ? "WON" : outcome.getCancellationReason().name();
+    }
+
+    private WriterResultSink append(CharSequence text) {
+        try {
+            writer.append(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    private WriterResultSink append(char c) {
+        try {
+            writer.write(c);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    private WriterResultSink appendInt(int value) {
+        if (value == Integer.MIN_VALUE) {
+            return append("-2147483648");
+        }
+        int position = digits.length;
+        int remaining = Math.abs(value);
+        do {
+            digits[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        if (value < 0) {
+            digits[--position] = '-';
+        }
+        try {
+            writer.write(digits, position, digits.length - position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    // quoted only when the value holds a comma, a quote or a line break
+    private WriterResultSink appendCsv(CharSequence value) {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            return append(value);
+        }
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        return append('"');
+    }
+
+    private WriterResultSink appendJson(String value) {
+        append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                append('\\').append(c);
+            } else if (c < ' ') {
+                append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+            } else {
+                append(c);
+            }
+        }
+        return append('"');
+    }
+
+    private void newLine() {
+        append(System.lineSeparator());
+    }
+}
@@ -0,0 +1,143 @@
+package com.teads.developmenttest.server;
+
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.output.ResultFormat;
+import com.teads.developmenttest.output.WriterResultSink;
+import com.teads.developmenttest.util.AuctionReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Resident server evaluating the auctions sent on local TCP connections in the text format of the input files.
+// Each connection is read by its own pooled thread: the result of an auction is written as soon as its block is closed
+// by a separator, the results are flushed when the client has nothing more pending so pipelined auctions are answered
+// in batches. A connection which sends nothing during the idle timeout is closed so that it doesn't hold its thread.
+// Connections beyond the maximum are answered with an error and closed at once instead of waiting for a thread
+public class AuctionServer implements Closeable {
+    public static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 60;
+    private static final AtomicInteger CONNECTION_COUNT = new AtomicInteger();
+
+    private final ServerSocket serverSocket;
+    private final ResultFormat format;
+    private final int idleTimeoutMillis;
+    private final ExecutorService connections;
+    private final Thread acceptor;
+
+    // port 0 picks a free port, the server only listens on the loopback address
+    public AuctionServer(int port, int maxConnections, ResultFormat format) throws IOException {
+        this(port, maxConnections, format, DEFAULT_IDLE_TIMEOUT_SECONDS * 1000);
+    }
+
+    public AuctionServer(int port, int maxConnections, ResultFormat format, int idleTimeoutMillis) throws IOException {
+        if (maxConnections < 1) {
+            throw new FunctionalException("The number of connections of the server must be > 0, found '" + maxConnections + "'");
+        }
+        if (idleTimeoutMillis < 1) {
+            throw new FunctionalException("The idle timeout of the server must be > 0, found '" + idleTimeoutMillis + "' ms");
+        }
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.format = format;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        // no queue: a connection is handed to an idle thread or rejected
+        this.connections = new ThreadPoolExecutor(maxConnections, maxConnections, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "auction-connection-" + CONNECTION_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.acceptor = new Thread(this::accept, "auction-server-" + serverSocket.getLocalPort());
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    // blocks until the server is closed
+    public void awaitTermination() throws InterruptedException {
+        acceptor.join();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                try {
+                    connections.execute(() -> serve(socket));
+                } catch (RejectedExecutionException e) {
+                    refuse(socket);
+                }
+            } catch (SocketException e) {
+                // the server socket has been closed
+                return;
+            } catch (IOException e) {
+                System.err.println("ERROR: Unable to accept a connection: " + e.getMessage());
+            }
+        }
+    }
+
+    // the answer fits in the send buffer of a new connection so writing it doesn't block the acceptor
+    private void refuse(Socket socket) {
+        try (socket;
+             WriterResultSink sink = new WriterResultSink(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), format)) {
+            if (!serverSocket.isClosed()) {
+                sink.writeError("The server is busy, all its connections are in use");
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // the client went away already
+        }
+    }
+
+    private void serve(Socket socket) {
+        try {
+            socket.setSoTimeout(idleTimeoutMillis);
+        } catch (SocketException e) {
+            // the connection is already broken, the first read fails
+        }
+        String source = "connection " + socket.getRemoteSocketAddress();
+        try (socket;
+             BufferedReader input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             // a connection may close without sending anything, and its bidder names are not interned so that a long
+             // lived connection doesn't keep all the names it has seen
+             AuctionReader reader = new AuctionReader(source, input, null, false);
+             WriterResultSink sink = new WriterResultSink(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), format)) {
+            while (true) {
+                try {
+                    if (!reader.hasNext()) {
+                        return;
+                    }
+                    sink.write(reader.next().evaluate());
+                } catch (FunctionalException e) {
+                    // a malformed auction doesn't end the connection
+                    sink.writeError(e.getMessage());
+                }
+                if (!input.ready()) {
+                    sink.flush();
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // the client went away or has been idle for too long
+        }
+    }
+}
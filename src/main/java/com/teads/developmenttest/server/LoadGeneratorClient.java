@@ -0,0 +1,94 @@
+package com.teads.developmenttest.server;
+
+import com.teads.developmenttest.exception.technical.TechnicalException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Sends generated auctions to a local AuctionServer on several connections without waiting for the results, and reports
+// the throughput once every result has been received.
+// Usage: LoadGeneratorClient port [connections] [auctions per connection] [bidders per auction]
+public class LoadGeneratorClient {
+
+    public static void main(String[] args) throws Exception {
+        int port = Integer.parseInt(args[0]);
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int auctions = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        int bidders = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        long start = System.nanoTime();
+        long results = run(port, connections, auctions, bidders);
+        double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+        System.out.printf("%d results received in %.2fs, %.0f auctions/s%n", results, seconds, results / seconds);
+    }
+
+    // returns the number of result lines received
+    public static long run(int port, int connections, int auctions, int bidders) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(connections * 2);
+        try {
+            List<Future<Long>> received = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                int seed = i;
+                received.add(executor.submit(() -> runConnection(port, auctions, bidders, seed, executor)));
+            }
+            long total = 0;
+            for (Future<Long> future : received) {
+                total += future.get();
+            }
+            return total;
+        } catch (ExecutionException e) {
+            throw new TechnicalException("The load generation failed: " + e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // auctions are written on another thread so that the server results are read while sending
+    private static long runConnection(int port, int auctions, int bidders, int seed, ExecutorService executor) throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader results = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            Future<?> sender = executor.submit(() -> {
+                try {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), 1 << 16);
+                    writeAuctions(writer, auctions, bidders, new Random(seed));
+                    writer.flush();
+                    socket.shutdownOutput();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            long count = 0;
+            while (results.readLine() != null) {
+                count++;
+            }
+            sender.get();
+            return count;
+        }
+    }
+
+    private static void writeAuctions(Writer writer, int auctions, int bidders, Random random) throws IOException {
+        for (int i = 0; i < auctions; i++) {
+            writer.write("auction" + i + ": " + random.nextInt(100) + "\n");
+            for (int j = 0; j < bidders; j++) {
+                writer.write("bidder" + j + ": " + random.nextInt(200) + ", " + random.nextInt(200) + "\n");
+            }
+            writer.write("#_#\n");
+        }
+    }
+}
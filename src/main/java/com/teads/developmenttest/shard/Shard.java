@@ -0,0 +1,16 @@
+package com.teads.developmenttest.shard;
+
+import lombok.*;
+
+import java.util.List;
+
+// Consecutive ranges of the inputs evaluated by one worker, index is the position of its results in the merged results.
+// A shard covers part of a large file, or several small files
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class Shard {
+    private final int index;
+    private final List<ShardPart> parts;
+}
@@ -0,0 +1,259 @@
+package com.teads.developmenttest.shard;
+
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.exception.technical.TechnicalException;
+import com.teads.developmenttest.main.Application;
+import com.teads.developmenttest.output.ResultFormat;
+import com.teads.developmenttest.util.AuctionFileSplitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Evaluates input files on local worker JVMs: the files are split at separators into shards and each worker runs the
+// application on the byte ranges of its shard, writing its results to a file of its own. The shards being consecutive
+// ranges of the inputs, the result files are merged back in the order of the inputs by appending them in shard order.
+// A worker which fails is started again up to retries times, a malformed auction fails the run without retry
+public class ShardCoordinator {
+    public static final int DEFAULT_RETRIES = 2;
+    // exit code of a worker which found a malformed auction
+    public static final int FUNCTIONAL_ERROR_EXIT_CODE = 2;
+
+    private final int shardCount;
+    private final int retries;
+    private final ResultFormat format;
+    // options given to each worker JVM and to the application it runs
+    private final List<String> jvmOptions;
+    private final List<String> workerOptions;
+
+    public ShardCoordinator(int shardCount, int retries, ResultFormat format, List<String> jvmOptions, List<String> workerOptions) {
+        if (shardCount < 1) {
+            throw new FunctionalException("The number of shards must be > 0, found '" + shardCount + "'");
+        }
+        if (retries < 0) {
+            throw new FunctionalException("The number of retries must be >= 0, found '" + retries + "'");
+        }
+        this.shardCount = shardCount;
+        this.retries = retries;
+        this.format = format;
+        this.jvmOptions = jvmOptions;
+        this.workerOptions = workerOptions;
+    }
+
+    // at most shardCount shards holding the inputs in their order. The shards are shared among the files in proportion to
+    // their size by largest remainder, a file getting no shard of its own is evaluated with the shard preceding it, or the
+    // first shard when there is none
+    public static List<Shard> split(List<Path> inputs, int shardCount) throws IOException {
+        long[] sizes = new long[inputs.size()];
+        long totalSize = 0;
+        for (int i = 0; i < inputs.size(); i++) {
+            Path input = inputs.get(i);
+            if (!Files.isRegularFile(input)) {
+                throw new FunctionalException("File '" + input + "' doesn't exist");
+            }
+            sizes[i] = Files.size(input);
+            if (sizes[i] == 0) {
+                throw new FunctionalException("File '" + input + "' is empty");
+            }
+            totalSize += sizes[i];
+        }
+        int[] rangeCounts = allocate(sizes, totalSize, shardCount);
+
+        List<List<ShardPart>> shardParts = new ArrayList<>();
+        List<ShardPart> leadingParts = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            Path input = inputs.get(i);
+            if (rangeCounts[i] == 0) {
+                ShardPart part = new ShardPart(input, 0, sizes[i]);
+                if (shardParts.isEmpty()) {
+                    leadingParts.add(part);
+                } else {
+                    shardParts.get(shardParts.size() - 1).add(part);
+                }
+                continue;
+            }
+            long[] offsets = AuctionFileSplitter.split(input, rangeCounts[i]);
+            for (int range = 0; range < rangeCounts[i]; range++) {
+                if (offsets[range + 1] > offsets[range]) {
+                    List<ShardPart> parts = new ArrayList<>(leadingParts);
+                    leadingParts.clear();
+                    parts.add(new ShardPart(input, offsets[range], offsets[range + 1]));
+                    shardParts.add(parts);
+                }
+            }
+        }
+        List<Shard> shards = new ArrayList<>(shardParts.size());
+        for (List<ShardPart> parts : shardParts) {
+            shards.add(new Shard(shards.size(), parts));
+        }
+        return shards;
+    }
+
+    // number of ranges of each file, their sum is shardCount
+    private static int[] allocate(long[] sizes, long totalSize, int shardCount) {
+        int[] counts = new int[sizes.length];
+        double[] remainders = new double[sizes.length];
+        int allocated = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            double quota = (double) shardCount * sizes[i] / totalSize;
+            counts[i] = (int) quota;
+            remainders[i] = quota - counts[i];
+            allocated += counts[i];
+        }
+        Integer[] byRemainder = new Integer[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            byRemainder[i] = i;
+        }
+        Arrays.sort(byRemainder, Comparator.comparingDouble((Integer i) -> remainders[i]).reversed());
+        for (int i = 0; allocated < shardCount && i < byRemainder.length; i++, allocated++) {
+            counts[byRemainder[i]]++;
+        }
+        return counts;
+    }
+
+    // writes the results of all the inputs to output, which is not closed
+    public void run(List<Path> inputs, OutputStream output) throws IOException, InterruptedException {
+        List<Shard> shards = split(inputs, shardCount);
+        Path directory = Files.createTempDirectory("auction-shards");
+        try {
+            evaluate(shards, directory);
+            merge(shards, directory, output);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    // at most shardCount workers run at the same time
+    private void evaluate(List<Shard> shards, Path directory) throws IOException, InterruptedException {
+        List<Shard> pending = shards;
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(shardCount, pending.size()));
+            List<Shard> failed = new ArrayList<>();
+            try {
+                List<Future<Integer>> exitCodes = new ArrayList<>(pending.size());
+                for (Shard shard : pending) {
+                    exitCodes.add(pool.submit(() -> runWorker(shard, directory)));
+                }
+                for (int i = 0; i < pending.size(); i++) {
+                    int exitCode = exitCode(exitCodes.get(i));
+                    if (exitCode == FUNCTIONAL_ERROR_EXIT_CODE) {
+                        throw new FunctionalException(readError(pending.get(i), directory));
+                    }
+                    if (exitCode != 0) {
+                        failed.add(pending.get(i));
+                    }
+                }
+            } finally {
+                // the running workers are stopped when one fails for good or when interrupted
+                pool.shutdownNow();
+            }
+            if (!failed.isEmpty() && attempt == retries) {
+                Shard shard = failed.get(0);
+                throw new TechnicalException("The worker of " + describe(shard) + " failed " + (retries + 1) + " times: " + readError(shard, directory));
+            }
+            pending = failed;
+        }
+    }
+
+    private int runWorker(Shard shard, Path directory) throws IOException, InterruptedException {
+        Process worker = start(shard, directory);
+        try {
+            return worker.waitFor();
+        } finally {
+            worker.destroyForcibly();
+        }
+    }
+
+    private static int exitCode(Future<Integer> exitCode) throws IOException, InterruptedException {
+        try {
+            return exitCode.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new TechnicalException("A worker couldn't be run: " + e.getCause());
+        }
+    }
+
+    private static String describe(Shard shard) {
+        return shard.getParts().stream()
+                .map(part -> "bytes " + part.getStart() + "-" + part.getEnd() + " of '" + part.getInput() + "'")
+                .collect(Collectors.joining(", "));
+    }
+
+    private Process start(Shard shard, Path directory) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Application.class.getName());
+        command.add("--range=" + shard.getParts().stream().map(part -> part.getStart() + ":" + part.getEnd()).collect(Collectors.joining(",")));
+        command.add("--output=" + resultFile(shard, directory));
+        command.add("--format=" + format.name().toLowerCase());
+        command.addAll(workerOptions);
+        for (ShardPart part : shard.getParts()) {
+            command.add(part.getInput().toString());
+        }
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile(shard, directory).toFile())
+                .start();
+    }
+
+    // the CSV header of the first shard is kept for all of them
+    private void merge(List<Shard> shards, Path directory, OutputStream output) throws IOException {
+        for (Shard shard : shards) {
+            try (InputStream results = Files.newInputStream(resultFile(shard, directory))) {
+                if (format == ResultFormat.CSV && shard.getIndex() > 0) {
+                    skipLine(results);
+                }
+                results.transferTo(output);
+            }
+        }
+        output.flush();
+    }
+
+    private static void skipLine(InputStream input) throws IOException {
+        int b;
+        do {
+            b = input.read();
+        } while (b >= 0 && b != '\n');
+    }
+
+    // the error reported by the worker, or the end of its output when it didn't report one
+    private static String readError(Shard shard, Path directory) throws IOException {
+        List<String> lines = Files.readAllLines(logFile(shard, directory), Charset.defaultCharset());
+        for (String line : lines) {
+            if (line.startsWith("ERROR: ")) {
+                return line.substring("ERROR: ".length());
+            }
+        }
+        return String.join(System.lineSeparator(), lines.subList(Math.max(0, lines.size() - 5), lines.size()));
+    }
+
+    private static Path resultFile(Shard shard, Path directory) {
+        return directory.resolve("shard-" + shard.getIndex() + ".out");
+    }
+
+    private static Path logFile(Shard shard, Path directory) {
+        return directory.resolve("shard-" + shard.getIndex() + ".log");
+    }
+}
@@ -0,0 +1,16 @@
+package com.teads.developmenttest.shard;
+
+import lombok.*;
+
+import java.nio.file.Path;
+
+// The [start, end) byte range of an input file
+@Getter
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ShardPart {
+    private final Path input;
+    private final long start;
+    private final long end;
+}
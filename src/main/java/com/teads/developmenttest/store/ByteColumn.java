@@ -0,0 +1,54 @@
+package com.teads.developmenttest.store;
+
+import com.teads.developmenttest.exception.technical.TechnicalException;
+
+import java.nio.ByteBuffer;
+
+// Growable column of bytes stored outside of the heap
+class ByteColumn {
+    // a direct buffer holds at most Integer.MAX_VALUE - 8 bytes
+    static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final int maxCapacity;
+    private ByteBuffer values;
+
+    ByteColumn(int initialCapacity) {
+        this(initialCapacity, MAX_CAPACITY);
+    }
+
+    ByteColumn(int initialCapacity, int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        values = ByteBuffer.allocateDirect(Math.min(Math.max(initialCapacity, 16), maxCapacity));
+    }
+
+    void add(byte[] bytes) {
+        if (values.remaining() < bytes.length) {
+            long required = (long) values.position() + bytes.length;
+            if (required > maxCapacity) {
+                throw new TechnicalException("A column can't hold more than " + maxCapacity + " bytes");
+            }
+            ByteBuffer larger = ByteBuffer.allocateDirect((int) Math.min(Math.max(2L * values.capacity(), required), maxCapacity));
+            values.flip();
+            larger.put(values);
+            values = larger;
+        }
+        values.put(bytes);
+    }
+
+    // copies the bytes of [start, start + length) to a new array
+    byte[] get(int start, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = values.get(start + i);
+        }
+        return bytes;
+    }
+
+    int size() {
+        return values.position();
+    }
+
+    long getAllocatedBytes() {
+        return values.capacity();
+    }
+}
@@ -0,0 +1,55 @@
+package com.teads.developmenttest.store;
+
+import com.teads.developmenttest.exception.technical.TechnicalException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+// Growable column of ints stored outside of the heap
+class IntColumn {
+    // a direct buffer holds at most Integer.MAX_VALUE - 8 bytes
+    static final int MAX_CAPACITY = (Integer.MAX_VALUE - 8) / Integer.BYTES;
+
+    private final int maxCapacity;
+    private IntBuffer values;
+    private int size;
+
+    IntColumn(int initialCapacity) {
+        this(initialCapacity, MAX_CAPACITY);
+    }
+
+    IntColumn(int initialCapacity, int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        values = allocate(Math.min(Math.max(initialCapacity, 16), maxCapacity));
+    }
+
+    void add(int value) {
+        if (size == values.capacity()) {
+            if (size == maxCapacity) {
+                throw new TechnicalException("A column can't hold more than " + maxCapacity + " values");
+            }
+            IntBuffer larger = allocate((int) Math.min(2L * size, maxCapacity));
+            values.clear();
+            larger.put(values);
+            values = larger;
+        }
+        values.put(size++, value);
+    }
+
+    int get(int index) {
+        return values.get(index);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long getAllocatedBytes() {
+        return (long) values.capacity() * Integer.BYTES;
+    }
+
+    private static IntBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(Math.toIntExact((long) capacity * Integer.BYTES)).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+}
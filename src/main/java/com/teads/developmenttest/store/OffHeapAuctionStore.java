@@ -0,0 +1,209 @@
+package com.teads.developmenttest.store;
+
+import com.teads.developmenttest.engine.IdGroups;
+import com.teads.developmenttest.engine.TopBids;
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.AuctionResult;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.BidderDictionary;
+import com.teads.developmenttest.entity.CancellationReason;
+import com.teads.developmenttest.metrics.Metrics;
+import org.apache.commons.collections.CollectionUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Auctions kept in flat columns of ints outside of the heap: a few objects whatever the number of auctions, bidders and
+// bids. Auction names are stored as UTF-8 bytes in a column of their own, bidder names once in a dictionary and referenced
+// by id. The auctions are evaluated straight from the columns, Auction objects are only created by view. Not thread safe
+public class OffHeapAuctionStore {
+    private final BidderDictionary bidderNames;
+
+    // per auction, the name of auction i is [auctionNameStarts(i), auctionNameStarts(i + 1)) of auctionNames
+    private final IntColumn auctionNameStarts;
+    private final ByteColumn auctionNames;
+    // per auction, the bidders of auction i are [bidderStarts(i), bidderStarts(i + 1))
+    private final IntColumn reservePrices;
+    private final IntColumn bidderStarts;
+    // per bidder line, the bids of bidder j are [bidStarts(j), bidStarts(j + 1))
+    private final IntColumn bidderNameIds;
+    private final IntColumn bidStarts;
+    private final IntColumn bids;
+
+    // scratch used by the evaluation
+    private final IdGroups groups = new IdGroups();
+    private final TopBids topBids = new TopBids();
+
+    public OffHeapAuctionStore() {
+        this(1024);
+    }
+
+    public OffHeapAuctionStore(int expectedAuctions) {
+        this(expectedAuctions, new BidderDictionary());
+    }
+
+    // bidder names are interned in the dictionary so identities can be shared with the readers
+    public OffHeapAuctionStore(int expectedAuctions, BidderDictionary bidderNames) {
+        this.bidderNames = bidderNames;
+        auctionNameStarts = new IntColumn(expectedAuctions + 1);
+        auctionNames = new ByteColumn(expectedAuctions * 16);
+        reservePrices = new IntColumn(expectedAuctions);
+        bidderStarts = new IntColumn(expectedAuctions + 1);
+        bidderNameIds = new IntColumn(expectedAuctions * 8);
+        bidStarts = new IntColumn(expectedAuctions * 8 + 1);
+        bids = new IntColumn(expectedAuctions * 32);
+        auctionNameStarts.add(0);
+        bidderStarts.add(0);
+        bidStarts.add(0);
+    }
+
+    public static OffHeapAuctionStore of(Iterator<Auction> auctions) {
+        OffHeapAuctionStore store = new OffHeapAuctionStore();
+        auctions.forEachRemaining(store::add);
+        return store;
+    }
+
+    // returns the index of the auction in the store
+    public int add(Auction auction) {
+        auctionNames.add(auction.getName().getBytes(StandardCharsets.UTF_8));
+        auctionNameStarts.add(auctionNames.size());
+        reservePrices.add(auction.getReservePrice());
+        if (!CollectionUtils.isEmpty(auction.getBidders())) {
+            for (Bidder bidder : auction.getBidders()) {
+                // identities of another dictionary are interned again
+                bidderNameIds.add(bidderNames.intern(bidder.getName()).getId());
+                for (int i = 0; i < bidder.getBidCount(); i++) {
+                    bids.add(bidder.getBid(i));
+                }
+                bidStarts.add(bids.size());
+            }
+        }
+        bidderStarts.add(bidderNameIds.size());
+        return size() - 1;
+    }
+
+    public int size() {
+        return reservePrices.size();
+    }
+
+    // bytes allocated outside of the heap by the columns
+    public long getAllocatedBytes() {
+        return auctionNameStarts.getAllocatedBytes() + auctionNames.getAllocatedBytes() + reservePrices.getAllocatedBytes() + bidderStarts.getAllocatedBytes()
+                + bidderNameIds.getAllocatedBytes() + bidStarts.getAllocatedBytes() + bids.getAllocatedBytes();
+    }
+
+    // a new Auction holding a copy of the stored one
+    public Auction view(int index) {
+        checkIndex(index);
+        List<Bidder> bidders = new ArrayList<>(bidderEnd(index) - bidderStart(index));
+        for (int line = bidderStart(index); line < bidderEnd(index); line++) {
+            bidders.add(bidderAt(line));
+        }
+        return new Auction(auctionName(index), reservePrices.get(index), bidders);
+    }
+
+    public void evaluateAll(Consumer<AuctionOutcome> consumer) {
+        for (int i = 0; i < size(); i++) {
+            consumer.accept(evaluate(i));
+        }
+    }
+
+    public AuctionOutcome evaluate(int index) {
+        checkIndex(index);
+        if (!Metrics.ENABLED) {
+            return evaluateColumns(index);
+        }
+        long start = System.nanoTime();
+        AuctionOutcome outcome = evaluateColumns(index);
+        Metrics.recordEvaluation(outcome, bidStarts.get(bidderEnd(index)) - bidStarts.get(bidderStart(index)), start);
+        return outcome;
+    }
+
+    // same rules as Auction.evaluate, only the winner is turned into a Bidder
+    private AuctionOutcome evaluateColumns(int index) {
+        String auctionName = auctionName(index);
+        int reservePrice = reservePrices.get(index);
+        int start = bidderStart(index);
+        int end = bidderEnd(index);
+        if (start == end) {
+            return AuctionOutcome.cancelled(auctionName, reservePrice, CancellationReason.NO_BIDDERS);
+        }
+
+        groups.reset(bidderNames.size(), end - start);
+        for (int line = start; line < end; line++) {
+            int maxBid = Integer.MIN_VALUE;
+            for (int bid = bidStarts.get(line); bid < bidStarts.get(line + 1); bid++) {
+                maxBid = Math.max(maxBid, bids.get(bid));
+            }
+            groups.add(line - start, bidderNameIds.get(line), bidStarts.get(line + 1) - bidStarts.get(line), maxBid);
+        }
+        groups.fillTopBids(topBids);
+
+        if (!topBids.hasBids() || topBids.getBestBid() < reservePrice) {
+            return AuctionOutcome.cancelled(auctionName, reservePrice, CancellationReason.RESERVE_PRICE_NOT_REACHED);
+        }
+        if (topBids.getBestBidCount() > 1) {
+            List<String> tiedBidders = new ArrayList<>(topBids.getBestBidCount());
+            for (int group = 0; group < groups.size(); group++) {
+                if (groups.hasBids(group) && groups.getMaxBid(group) == topBids.getBestBid()) {
+                    tiedBidders.add(bidderNames.get(groups.getNameId(group)).getName());
+                }
+            }
+            return AuctionOutcome.tie(auctionName, reservePrice, tiedBidders, topBids.getBestBid());
+        }
+        int winningPrice = topBids.getWinningPrice(reservePrice);
+        if (winningPrice <= 0) {
+            return AuctionOutcome.cancelled(auctionName, reservePrice, CancellationReason.NON_POSITIVE_WINNING_PRICE);
+        }
+        return AuctionOutcome.won(new AuctionResult(auctionName, winnerOf(topBids.getWinnerIndex(), start, end), winningPrice), reservePrice);
+    }
+
+    // the winner's own line, or a bidder holding the bids of all its lines
+    private Bidder winnerOf(int group, int start, int end) {
+        int firstLine = start + groups.getFirstLine(group);
+        Bidder winner = bidderAt(firstLine);
+        if (groups.getLineCount(group) == 1) {
+            return winner;
+        }
+        for (int line = firstLine + 1; line < end; line++) {
+            if (bidderNameIds.get(line) == groups.getNameId(group)) {
+                for (int bid = bidStarts.get(line); bid < bidStarts.get(line + 1); bid++) {
+                    winner.addBid(bids.get(bid));
+                }
+            }
+        }
+        return winner;
+    }
+
+    private Bidder bidderAt(int line) {
+        int first = bidStarts.get(line);
+        int[] lineBids = new int[bidStarts.get(line + 1) - first];
+        for (int i = 0; i < lineBids.length; i++) {
+            lineBids[i] = bids.get(first + i);
+        }
+        return new Bidder(bidderNames.get(bidderNameIds.get(line)), lineBids, lineBids.length);
+    }
+
+    private String auctionName(int index) {
+        int start = auctionNameStarts.get(index);
+        return new String(auctionNames.get(start, auctionNameStarts.get(index + 1) - start), StandardCharsets.UTF_8);
+    }
+
+    private int bidderStart(int index) {
+        return bidderStarts.get(index);
+    }
+
+    private int bidderEnd(int index) {
+        return bidderStarts.get(index + 1);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size() + " auctions");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.BidderDictionary;
+import com.teads.developmenttest.entity.ContentHasher;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+
+// Builds an auction from the lines of its block as they are read
+class AuctionBlockParser {
+
+    private final AuctionLineParser lineParser;
+    private Auction auction;
+    private FunctionalException error;
+
+    AuctionBlockParser(BidderDictionary dictionary) {
+        this.lineParser = new AuctionLineParser(dictionary);
+    }
+
+    // returns false when the line is blank and has been ignored
+    boolean addLine(CharSequence line, int start, int end) {
+        if (AuctionLineParser.isBlank(line, start, end)) {
+            return false;
+        }
+        if (error != null) {
+            // the rest of a malformed block is skipped
+            return true;
+        }
+        try {
+            if (auction == null) {
+                lineParser.parseAuctionLine(line, start, end);
+                auction = new Auction();
+                auction.setName(lineParser.getName());
+                auction.setReservePrice(lineParser.getReservePrice());
+            } else {
+                lineParser.parseBidLine(line, start, end);
+                auction.getBidders().add(toBidder(lineParser));
+            }
+        } catch (FunctionalException e) {
+            error = e;
+        }
+        return true;
+    }
+
+    // returns null when the block is empty, the parser is reset even when the block is malformed
+    Auction completeBlock() {
+        Auction completedAuction = auction;
+        FunctionalException blockError = error;
+        auction = null;
+        error = null;
+        if (blockError != null) {
+            throw blockError;
+        }
+        if (completedAuction != null) {
+            // the line parser hashed the values of the block as it scanned them
+            ContentHasher contentHasher = lineParser.getContentHasher();
+            contentHasher.add(completedAuction.getBidders().size());
+            completedAuction.setContentHash(contentHasher);
+        }
+        return completedAuction;
+    }
+
+    static Bidder toBidder(AuctionLineParser lineParser) {
+        return new Bidder(lineParser.getBidderIdentity(), lineParser.getBids(), lineParser.getBidCount());
+    }
+}
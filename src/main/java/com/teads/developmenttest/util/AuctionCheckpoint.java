@@ -0,0 +1,83 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import lombok.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+// Progress of a lenient run: the input is processed up to offset, the auctions and malformed blocks before it are counted
+// and their results and errors are the first outputLength and errorLength bytes of the output and error files
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class AuctionCheckpoint {
+    private final String input;
+    private final long offset;
+    private final long auctionCount;
+    private final long errorCount;
+    private final long outputLength;
+    private final long errorLength;
+
+    public static AuctionCheckpoint start(Path input) {
+        return new AuctionCheckpoint(input.toAbsolutePath().toString(), 0, 0, 0, 0, 0);
+    }
+
+    // the checkpoint of the file, or the start of the input when there is none yet
+    public static AuctionCheckpoint readOrStart(Path checkpointFile, Path input) throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return start(input);
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(checkpointFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        AuctionCheckpoint checkpoint;
+        try {
+            checkpoint = new AuctionCheckpoint(properties.getProperty("input"),
+                    Long.parseLong(properties.getProperty("offset")),
+                    Long.parseLong(properties.getProperty("auctions")),
+                    Long.parseLong(properties.getProperty("errors")),
+                    Long.parseLong(properties.getProperty("outputLength")),
+                    Long.parseLong(properties.getProperty("errorLength")));
+        } catch (NumberFormatException e) {
+            throw new FunctionalException("File '" + checkpointFile + "' is not a checkpoint");
+        }
+        if (!input.toAbsolutePath().toString().equals(checkpoint.input)) {
+            throw new FunctionalException("The checkpoint '" + checkpointFile + "' belongs to '" + checkpoint.input + "' and not to '" + input.toAbsolutePath() + "'");
+        }
+        return checkpoint;
+    }
+
+    // the file is replaced at once so that an interrupted run always leaves a complete checkpoint
+    public void write(Path checkpointFile) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("input", input);
+        properties.setProperty("offset", Long.toString(offset));
+        properties.setProperty("auctions", Long.toString(auctionCount));
+        properties.setProperty("errors", Long.toString(errorCount));
+        properties.setProperty("outputLength", Long.toString(outputLength));
+        properties.setProperty("errorLength", Long.toString(errorLength));
+        Path temporary = Files.createTempFile(checkpointFile.toAbsolutePath().getParent(), checkpointFile.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+            try {
+                Files.move(temporary, checkpointFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.output.ResultSink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Follows the files of a directory to which auction blocks are appended and evaluates each block once it is closed by a
+// separator. The offset reached in each file is kept by file key so that a file renamed by a rotation is not read again,
+// a file which became shorter than its offset has been truncated and is read again from its start
+public class AuctionDirectoryTailer implements Closeable {
+    // the directory is scanned again after this delay without events, in case the file system doesn't report them
+    private static final long RESCAN_PERIOD_MILLIS = 1000;
+
+    private final Path directory;
+    private final String glob;
+    private final ResultSink sink;
+    private final WatchService watchService;
+    private Map<Object, Long> offsets = new HashMap<>();
+
+    // the blocks already in the files are evaluated first unless fromEnd is set
+    public AuctionDirectoryTailer(Path directory, String glob, boolean fromEnd, ResultSink sink) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new FunctionalException("Directory '" + directory + "' doesn't exist");
+        }
+        this.directory = directory;
+        this.glob = glob;
+        this.sink = sink;
+        this.watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        if (fromEnd) {
+            skipExistingBlocks();
+        }
+    }
+
+    // evaluates the blocks closed since the previous poll and returns their number of auctions
+    public int poll() throws IOException {
+        Map<Object, Long> polledOffsets = new HashMap<>();
+        int auctionCount = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : files) {
+                BasicFileAttributes attributes = readAttributes(file);
+                if (attributes == null) {
+                    continue;
+                }
+                Object key = fileKey(file, attributes);
+                if (polledOffsets.containsKey(key)) {
+                    // another link to a file already polled
+                    continue;
+                }
+                long offset = offsets.getOrDefault(key, 0L);
+                if (attributes.size() < offset) {
+                    offset = 0;
+                }
+                try {
+                    long boundary = AuctionFileSplitter.lastBoundary(file, offset, attributes.size());
+                    if (boundary > offset) {
+                        auctionCount += evaluate(file, offset, boundary);
+                    }
+                    polledOffsets.put(key, boundary);
+                } catch (NoSuchFileException e) {
+                    // the file has been deleted since the directory was listed
+                }
+            }
+        }
+        // the files which are gone are forgotten
+        offsets = polledOffsets;
+        return auctionCount;
+    }
+
+    // polls the directory each time it changes until the tailer is closed
+    public void run() throws IOException, InterruptedException {
+        try {
+            while (true) {
+                poll();
+                sink.flush();
+                WatchKey watchKey = watchService.poll(RESCAN_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                if (watchKey != null) {
+                    watchKey.pollEvents();
+                    if (!watchKey.reset()) {
+                        throw new FunctionalException("Directory '" + directory + "' is no longer accessible");
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // the tailer has been closed
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void skipExistingBlocks() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : files) {
+                BasicFileAttributes attributes = readAttributes(file);
+                if (attributes != null) {
+                    offsets.put(fileKey(file, attributes), AuctionFileSplitter.lastBoundary(file, 0, attributes.size()));
+                }
+            }
+        }
+    }
+
+    private int evaluate(Path file, long start, long end) throws IOException {
+        int auctionCount = 0;
+        try (MappedAuctionReader reader = new MappedAuctionReader(file, start, end)) {
+            while (true) {
+                try {
+                    if (!reader.hasNext()) {
+                        return auctionCount;
+                    }
+                    sink.write(reader.next().evaluate());
+                    auctionCount++;
+                } catch (FunctionalException e) {
+                    // a malformed auction doesn't stop the tail
+                    System.err.println("ERROR: " + file.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // null when the file is gone or is not a regular file
+    private static BasicFileAttributes readAttributes(Path file) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.isRegularFile() ? attributes : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    // some file systems have no file key, a file is then followed by its path
+    private static Object fileKey(Path file, BasicFileAttributes attributes) {
+        return attributes.fileKey() == null ? file.toAbsolutePath() : attributes.fileKey();
+    }
+}
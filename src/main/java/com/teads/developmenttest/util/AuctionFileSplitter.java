@@ -0,0 +1,80 @@
+package com.teads.developmenttest.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.teads.developmenttest.util.ReaderUtil.SEPARATOR;
+
+// Splits a file in ranges ending right after a separator so that each range holds whole auction blocks
+public class AuctionFileSplitter {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    // returns rangeCount + 1 increasing offsets, range i being [offsets[i], offsets[i + 1]), some ranges may be empty
+    public static long[] split(Path path, int rangeCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] offsets = new long[rangeCount + 1];
+            offsets[rangeCount] = size;
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            for (int i = 1; i < rangeCount; i++) {
+                // starts before the nominal offset to find a separator lying across it
+                long from = Math.max(offsets[i - 1], size * i / rangeCount - (SEPARATOR.length() - 1));
+                offsets[i] = nextBoundary(channel, from, size, buffer);
+            }
+            return offsets;
+        }
+    }
+
+    // offset following the last separator of the [from, to) range, or from when there is none
+    public static long lastBoundary(Path path, long from, long to) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            long end = to;
+            while (end - from >= SEPARATOR.length()) {
+                long start = Math.max(from, end - READ_BUFFER_SIZE);
+                buffer.clear();
+                buffer.limit((int) (end - start));
+                while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) >= 0) {
+                    // reads the whole range unless the file has been truncated meanwhile
+                }
+                for (int i = buffer.position() - SEPARATOR.length(); i >= 0; i--) {
+                    if (buffer.get(i) == '#' && buffer.get(i + 1) == '_' && buffer.get(i + 2) == '#') {
+                        return start + i + SEPARATOR.length();
+                    }
+                }
+                if (start == from) {
+                    break;
+                }
+                // the first bytes are read again in case a separator lies across two reads
+                end = start + SEPARATOR.length() - 1;
+            }
+            return from;
+        }
+    }
+
+    // offset following the first separator found at or after from, or size when there is none
+    private static long nextBoundary(FileChannel channel, long from, long size, ByteBuffer buffer) throws IOException {
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i + SEPARATOR.length() <= read; i++) {
+                if (buffer.get(i) == '#' && buffer.get(i + 1) == '_' && buffer.get(i + 2) == '#') {
+                    return position + i + SEPARATOR.length();
+                }
+            }
+            if (position + read >= size) {
+                break;
+            }
+            // the last bytes are read again in case a separator lies across two reads
+            position += read - (SEPARATOR.length() - 1);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,225 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.BidderDictionary;
+import com.teads.developmenttest.entity.BidderIdentity;
+import com.teads.developmenttest.entity.ContentHasher;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+
+import java.util.Arrays;
+
+// Single pass scanner equivalent to AUCTION_FORMAT_REG_EX and BID_FORMAT_REG_EX applied on a line without its white spaces
+public class AuctionLineParser {
+
+    private final BidderDictionary dictionary;
+    private final NameTable nameTable;
+    private CharSequence line;
+    private int nameStart;
+    private int nameEnd;
+    private boolean nameHasWhiteSpaces;
+    private int reservePrice;
+    private int[] bids = new int[16];
+    private int bidCount;
+    // hash of the values scanned since the last auction line
+    private final ContentHasher contentHasher = new ContentHasher();
+
+    public AuctionLineParser() {
+        this(null);
+    }
+
+    // bidder names are interned in the dictionary when there is one
+    public AuctionLineParser(BidderDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.nameTable = dictionary == null ? null : new NameTable(dictionary);
+    }
+
+    public void parseAuctionLine(CharSequence line) {
+        parseAuctionLine(line, 0, line.length());
+    }
+
+    public void parseAuctionLine(CharSequence line, int start, int end) {
+        contentHasher.reset();
+        int position = scanName(line, start, end);
+        if (position < 0) {
+            throw invalidAuction(line, start, end);
+        }
+        long value = 0;
+        int digits = 0;
+        for (; position < end; position++) {
+            char c = line.charAt(position);
+            if (isDigit(c)) {
+                value = value * 10 + (c - '0');
+                digits++;
+                if (value > Integer.MAX_VALUE) {
+                    throw invalidAuction(line, start, end);
+                }
+            } else if (!isWhiteSpace(c)) {
+                throw invalidAuction(line, start, end);
+            }
+        }
+        if (digits == 0) {
+            throw invalidAuction(line, start, end);
+        }
+        reservePrice = (int) value;
+        contentHasher.add(reservePrice);
+    }
+
+    public void parseBidLine(CharSequence line) {
+        parseBidLine(line, 0, line.length());
+    }
+
+    public void parseBidLine(CharSequence line, int start, int end) {
+        int position = scanName(line, start, end);
+        if (position < 0) {
+            throw invalidBid(line, start, end);
+        }
+        bidCount = 0;
+        // the first bid may be empty ('name:' or 'name:,1'), the following ones may not
+        boolean firstBid = true;
+        while (true) {
+            long value = 0;
+            int digits = 0;
+            for (; position < end; position++) {
+                char c = line.charAt(position);
+                if (isDigit(c)) {
+                    value = value * 10 + (c - '0');
+                    digits++;
+                    if (value > Integer.MAX_VALUE) {
+                        throw invalidBid(line, start, end);
+                    }
+                } else if (!isWhiteSpace(c)) {
+                    break;
+                }
+            }
+            if (digits > 0) {
+                addBid((int) value);
+            } else if (!firstBid) {
+                throw invalidBid(line, start, end);
+            }
+            if (position == end) {
+                contentHasher.add(bidCount);
+                return;
+            }
+            if (line.charAt(position) != ',') {
+                throw invalidBid(line, start, end);
+            }
+            position++;
+            firstBid = false;
+        }
+    }
+
+    public String getName() {
+        if (!nameHasWhiteSpaces) {
+            return line.subSequence(nameStart, nameEnd).toString();
+        }
+        return removeWhiteSpaces(line, nameStart, nameEnd);
+    }
+
+    public BidderIdentity getBidderIdentity() {
+        if (dictionary == null) {
+            return BidderIdentity.unregistered(getName());
+        }
+        if (nameHasWhiteSpaces) {
+            return dictionary.intern(getName());
+        }
+        return nameTable.intern(line, nameStart, nameEnd);
+    }
+
+    public ContentHasher getContentHasher() {
+        return contentHasher;
+    }
+
+    public int getReservePrice() {
+        return reservePrice;
+    }
+
+    public int getBidCount() {
+        return bidCount;
+    }
+
+    public int getBid(int index) {
+        return bids[index];
+    }
+
+    // internal buffer, only the first getBidCount() values belong to the last parsed line
+    public int[] getBids() {
+        return bids;
+    }
+
+    public static boolean isBlank(CharSequence line, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isWhiteSpace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static String removeWhiteSpaces(CharSequence line, int start, int end) {
+        StringBuilder builder = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (!isWhiteSpace(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    // returns the position following the ':' or -1 when the name is malformed
+    private int scanName(CharSequence line, int start, int end) {
+        this.line = line;
+        nameStart = -1;
+        nameHasWhiteSpaces = false;
+        int nameLength = 0;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (isWordCharacter(c)) {
+                contentHasher.add(c);
+                nameLength++;
+                if (nameStart < 0) {
+                    nameStart = i;
+                } else if (nameEnd < i) {
+                    nameHasWhiteSpaces = true;
+                }
+                nameEnd = i + 1;
+            } else if (isWhiteSpace(c)) {
+                continue;
+            } else if (c == ':' && nameStart >= 0) {
+                contentHasher.add(nameLength);
+                return i + 1;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private void addBid(int bid) {
+        if (bidCount == bids.length) {
+            bids = Arrays.copyOf(bids, bidCount * 2);
+        }
+        bids[bidCount++] = bid;
+        contentHasher.add(bid);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_';
+    }
+
+    // same characters as the '\s' regex class
+    private static boolean isWhiteSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static FunctionalException invalidAuction(CharSequence line, int start, int end) {
+        return new FunctionalException("The auction '" + removeWhiteSpaces(line, start, end) + "' didn't match the input format: 'auction_name:reserve_price' ex: 'my_auction:10");
+    }
+
+    private static FunctionalException invalidBid(CharSequence line, int start, int end) {
+        return new FunctionalException("The bid '" + removeWhiteSpaces(line, start, end) + "' didn't match the input format: 'bidder_name:bid0,Bid1...' ex: 'myself:10,20,30");
+    }
+}
@@ -0,0 +1,144 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.BidderDictionary;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.metrics.Metrics;
+import com.teads.developmenttest.metrics.Stage;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.teads.developmenttest.util.ReaderUtil.SEPARATOR;
+
+// Reads the input line by line and returns each auction as soon as its block is complete
+public class AuctionReader implements Iterator<Auction>, Closeable {
+
+    private final String source;
+    private final BufferedReader reader;
+    private final boolean failOnEmptyInput;
+    private final AuctionBlockParser blockParser;
+    private Auction nextAuction;
+    private String line;
+    private int linePosition;
+    private boolean endOfInput;
+    private boolean emptyInput = true;
+
+    public AuctionReader(String source, Reader reader) {
+        this(source, reader, new BidderDictionary());
+    }
+
+    public AuctionReader(String source, Reader reader, BidderDictionary dictionary) {
+        this(source, reader, dictionary, true);
+    }
+
+    // the bidder names are not interned when dictionary is null, an input which is not a file may be empty
+    public AuctionReader(String source, Reader reader, BidderDictionary dictionary, boolean failOnEmptyInput) {
+        this.source = source;
+        this.failOnEmptyInput = failOnEmptyInput;
+        this.blockParser = new AuctionBlockParser(dictionary);
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    public static AuctionReader open(String fileName) throws IOException {
+        File file = ReaderUtil.resolveFile(fileName);
+        return new AuctionReader(fileName, Files.newBufferedReader(file.toPath(), Charset.defaultCharset()));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextAuction != null || endOfInput) {
+            return nextAuction != null;
+        }
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        while (nextAuction == null && !endOfInput) {
+            readNextSegment();
+        }
+        if (Metrics.ENABLED && nextAuction != null) {
+            Metrics.recordStage(Stage.PARSE, start);
+        }
+        return nextAuction != null;
+    }
+
+    @Override
+    public Auction next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more auctions in '" + source + "'");
+        }
+        Auction auction = nextAuction;
+        nextAuction = null;
+        return auction;
+    }
+
+    public Stream<Auction> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::closeQuietly);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // reads up to the next separator or the end of the current line
+    private void readNextSegment() {
+        if (line == null) {
+            try {
+                line = reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            linePosition = 0;
+            if (Metrics.ENABLED && line != null) {
+                // characters of the line and its line break
+                Metrics.addBytesParsed(line.length() + 1);
+            }
+            if (line == null) {
+                endOfInput = true;
+                if (emptyInput && failOnEmptyInput) {
+                    throw new FunctionalException("File '" + source + "' is empty");
+                }
+                nextAuction = blockParser.completeBlock();
+                return;
+            }
+        }
+
+        // a separator may appear anywhere in a line and closes the current auction block
+        int separatorIndex = line.indexOf(SEPARATOR, linePosition);
+        if (separatorIndex < 0) {
+            addLine(line, linePosition, line.length());
+            line = null;
+            return;
+        }
+        addLine(line, linePosition, separatorIndex);
+        linePosition = separatorIndex + SEPARATOR.length();
+        emptyInput = false;
+        nextAuction = blockParser.completeBlock();
+    }
+
+    private void addLine(String line, int start, int end) {
+        if (blockParser.addLine(line, start, end)) {
+            emptyInput = false;
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
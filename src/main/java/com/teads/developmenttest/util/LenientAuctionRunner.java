@@ -0,0 +1,114 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.BidderDictionary;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.output.ResultFormat;
+import com.teads.developmenttest.output.ResultSink;
+import com.teads.developmenttest.output.WriterResultSink;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Evaluates a file through a memory mapping without stopping on malformed auctions: each of them is appended to the
+// error file with its byte range, and the run goes on. A checkpoint is written every checkpointInterval auctions once
+// their results are flushed, a run given an existing checkpoint resumes after it. The output and error files are first
+// cut back to their length at the checkpoint so that each result and error is written once
+public class LenientAuctionRunner {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 10_000;
+
+    private final Path input;
+    private final Path errorFile;
+    private final Path checkpointFile;
+    private final int checkpointInterval;
+
+    // checkpointFile may be null to run without checkpoints
+    public LenientAuctionRunner(Path input, Path errorFile, Path checkpointFile, int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new FunctionalException("The checkpoint interval must be > 0, found '" + checkpointInterval + "'");
+        }
+        this.input = input;
+        this.errorFile = errorFile;
+        this.checkpointFile = checkpointFile;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    // the results are written to the output file, returns the checkpoint at the end of the input
+    public AuctionCheckpoint run(Path output, ResultFormat format) throws IOException {
+        AuctionCheckpoint checkpoint = readCheckpoint();
+        truncate(output, checkpoint.getOutputLength());
+        try (ResultSink sink = WriterResultSink.appendingTo(output, format)) {
+            return run(sink, output, checkpoint);
+        }
+    }
+
+    // the results written to the sink after the last checkpoint of an interrupted run are written again
+    public AuctionCheckpoint run(ResultSink sink) throws IOException {
+        return run(sink, null, readCheckpoint());
+    }
+
+    private AuctionCheckpoint run(ResultSink sink, Path output, AuctionCheckpoint checkpoint) throws IOException {
+        truncate(errorFile, checkpoint.getErrorLength());
+        long auctionCount = checkpoint.getAuctionCount();
+        long errorCount = checkpoint.getErrorCount();
+        int sinceCheckpoint = 0;
+
+        try (MappedAuctionReader reader = new MappedAuctionReader(input, checkpoint.getOffset(), -1,
+                MappedAuctionReader.DEFAULT_WINDOW_SIZE, false, new BidderDictionary());
+             Writer errors = new BufferedWriter(Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8, StandardOpenOption.APPEND))) {
+            long blockStart = reader.getConsumedOffset();
+            while (true) {
+                try {
+                    if (!reader.hasNext()) {
+                        break;
+                    }
+                    Auction auction = reader.next();
+                    sink.write(auction.evaluate());
+                    auctionCount++;
+                } catch (FunctionalException e) {
+                    errors.write("bytes " + blockStart + "-" + reader.getConsumedOffset() + ": " + e.getMessage() + System.lineSeparator());
+                    errorCount++;
+                }
+                blockStart = reader.getConsumedOffset();
+                if (++sinceCheckpoint == checkpointInterval) {
+                    checkpoint(sink, output, errors, checkpoint.getInput(), blockStart, auctionCount, errorCount);
+                    sinceCheckpoint = 0;
+                }
+            }
+            return checkpoint(sink, output, errors, checkpoint.getInput(), reader.getConsumedOffset(), auctionCount, errorCount);
+        }
+    }
+
+    private AuctionCheckpoint readCheckpoint() throws IOException {
+        return checkpointFile == null ? AuctionCheckpoint.start(input) : AuctionCheckpoint.readOrStart(checkpointFile, input);
+    }
+
+    private AuctionCheckpoint checkpoint(ResultSink sink, Path output, Writer errors, String input, long offset, long auctionCount,
+                                         long errorCount) throws IOException {
+        // what the checkpoint covers must be written before it
+        sink.flush();
+        errors.flush();
+        AuctionCheckpoint checkpoint = new AuctionCheckpoint(input, offset, auctionCount, errorCount,
+                output == null ? 0 : Files.size(output), Files.size(errorFile));
+        if (checkpointFile != null) {
+            checkpoint.write(checkpointFile);
+        }
+        return checkpoint;
+    }
+
+    // drops what has been written after the checkpoint, a file missing its checkpointed content can't be resumed
+    private static void truncate(Path file, long length) throws IOException {
+        if (!Files.exists(file) ? length > 0 : Files.size(file) < length) {
+            throw new FunctionalException("File '" + file + "' is shorter than its checkpoint, " + length + " bytes expected");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+    }
+}
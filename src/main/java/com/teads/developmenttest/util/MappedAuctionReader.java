@@ -0,0 +1,181 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.BidderDictionary;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.exception.technical.TechnicalException;
+import com.teads.developmenttest.metrics.Metrics;
+import com.teads.developmenttest.metrics.Stage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Reads the auctions of a file system file through a memory mapping, the bytes are parsed as ASCII characters in place
+public class MappedAuctionReader implements Iterator<Auction>, Closeable {
+    static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long end;
+    private final int windowSize;
+    private final boolean failOnEmptyInput;
+    private final AuctionBlockParser blockParser;
+
+    private MappedByteBuffer window;
+    private AsciiCharSequence characters;
+    private long windowStart;
+    private int position;
+    private long consumedOffset;
+    private Auction nextAuction;
+    private boolean endOfInput;
+    private boolean emptyInput = true;
+
+    public MappedAuctionReader(Path path) throws IOException {
+        this(path, 0, -1);
+    }
+
+    // reads the [start, end) range of the file, end is the end of the file when negative
+    public MappedAuctionReader(Path path, long start, long end) throws IOException {
+        this(path, start, end, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedAuctionReader(Path path, long start, long end, BidderDictionary dictionary) throws IOException {
+        this(path, start, end, DEFAULT_WINDOW_SIZE, true, dictionary);
+    }
+
+    // a range which is not the start of a file may contain only blank lines
+    public MappedAuctionReader(Path path, long start, long end, boolean failOnEmptyInput) throws IOException {
+        this(path, start, end, DEFAULT_WINDOW_SIZE, failOnEmptyInput, new BidderDictionary());
+    }
+
+    MappedAuctionReader(Path path, long start, long end, int windowSize) throws IOException {
+        this(path, start, end, windowSize, true, new BidderDictionary());
+    }
+
+    // a range of the file may contain only blank lines without the file being empty
+    MappedAuctionReader(Path path, long start, long end, int windowSize, boolean failOnEmptyInput, BidderDictionary dictionary) throws IOException {
+        this.path = path;
+        this.blockParser = new AuctionBlockParser(dictionary);
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.end = end < 0 ? channel.size() : Math.min(end, channel.size());
+        this.windowSize = windowSize;
+        this.failOnEmptyInput = failOnEmptyInput;
+        this.consumedOffset = start;
+        map(start);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextAuction != null || endOfInput) {
+            return nextAuction != null;
+        }
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        while (nextAuction == null && !endOfInput) {
+            readNextSegment();
+        }
+        if (Metrics.ENABLED && nextAuction != null) {
+            Metrics.recordStage(Stage.PARSE, start);
+        }
+        return nextAuction != null;
+    }
+
+    @Override
+    public Auction next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more auctions in '" + path + "'");
+        }
+        Auction auction = nextAuction;
+        nextAuction = null;
+        return auction;
+    }
+
+    boolean isEmptyInput() {
+        return emptyInput;
+    }
+
+    // offset in the file following the last auction block read
+    public long getConsumedOffset() {
+        return consumedOffset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // reads up to the next separator or the end of the current line
+    private void readNextSegment() {
+        int limit = window.limit();
+        int segmentEnd = position;
+        while (segmentEnd < limit) {
+            byte b = window.get(segmentEnd);
+            if (b == '\n' || b == '\r') {
+                addLine(position, segmentEnd);
+                position = segmentEnd + 1;
+                return;
+            }
+            if (b == '#' && isSeparator(segmentEnd, limit)) {
+                addLine(position, segmentEnd);
+                position = segmentEnd + ReaderUtil.SEPARATOR.length();
+                consume(windowStart + position);
+                emptyInput = false;
+                nextAuction = blockParser.completeBlock();
+                return;
+            }
+            segmentEnd++;
+        }
+
+        if (windowStart + limit < end) {
+            // the line continues in the next window
+            if (position == 0) {
+                throw new TechnicalException("A line of '" + path + "' is longer than " + windowSize + " bytes");
+            }
+            map(windowStart + position);
+            return;
+        }
+
+        addLine(position, limit);
+        position = limit;
+        consume(end);
+        endOfInput = true;
+        if (emptyInput && failOnEmptyInput) {
+            throw new FunctionalException("File '" + path + "' is empty");
+        }
+        nextAuction = blockParser.completeBlock();
+    }
+
+    private void consume(long offset) {
+        if (Metrics.ENABLED) {
+            Metrics.addBytesParsed(offset - consumedOffset);
+        }
+        consumedOffset = offset;
+    }
+
+    private boolean isSeparator(int index, int limit) {
+        return index + 2 < limit && window.get(index + 1) == '_' && window.get(index + 2) == '#';
+    }
+
+    private void addLine(int start, int end) {
+        if (blockParser.addLine(characters, start, end)) {
+            emptyInput = false;
+        }
+    }
+
+    private void map(long start) {
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, end - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        windowStart = start;
+        position = 0;
+        characters = new AsciiCharSequence(window);
+    }
+}
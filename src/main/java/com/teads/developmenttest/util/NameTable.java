@@ -0,0 +1,67 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.BidderDictionary;
+import com.teads.developmenttest.entity.BidderIdentity;
+
+// Parser local cache of a dictionary looked up with the characters of a line, a String is only created for a new name
+class NameTable {
+    private final BidderDictionary dictionary;
+    private BidderIdentity[] table = new BidderIdentity[64];
+    private int size;
+
+    NameTable(BidderDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    BidderIdentity intern(CharSequence characters, int start, int end) {
+        // same hash as String.hashCode so that the one cached by the name can be compared
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + characters.charAt(i);
+        }
+        int mask = table.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        BidderIdentity identity;
+        while ((identity = table[slot]) != null) {
+            String name = identity.getName();
+            if (name.hashCode() == hash && contentEquals(name, characters, start, end)) {
+                return identity;
+            }
+            slot = (slot + 1) & mask;
+        }
+        identity = dictionary.intern(characters.subSequence(start, end).toString());
+        table[slot] = identity;
+        if (++size * 2 > table.length) {
+            grow();
+        }
+        return identity;
+    }
+
+    private static boolean contentEquals(String name, CharSequence characters, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != characters.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void grow() {
+        BidderIdentity[] previous = table;
+        table = new BidderIdentity[previous.length * 2];
+        int mask = table.length - 1;
+        for (BidderIdentity identity : previous) {
+            if (identity != null) {
+                int hash = identity.getName().hashCode();
+                int slot = (hash ^ (hash >>> 16)) & mask;
+                while (table[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = identity;
+            }
+        }
+    }
+}
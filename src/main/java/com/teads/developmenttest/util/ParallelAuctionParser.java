@@ -0,0 +1,90 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.BidderDictionary;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.exception.technical.TechnicalException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Parses the chunks of a file on a fork join pool, the auctions are returned in the order of the file
+public class ParallelAuctionParser {
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    public static List<Auction> parse(Path path, int parallelism) throws IOException {
+        long[] offsets = AuctionFileSplitter.split(path, parallelism * CHUNKS_PER_THREAD);
+        // the chunks share their bidder identities
+        BidderDictionary dictionary = new BidderDictionary();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<ChunkResult> chunks;
+        try {
+            chunks = pool.submit(() -> IntStream.range(0, offsets.length - 1)
+                    .parallel()
+                    .mapToObj(i -> parseChunk(path, offsets[i], offsets[i + 1], dictionary))
+                    .collect(Collectors.toList()))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TechnicalException("The parsing of '" + path + "' has been interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new TechnicalException("The parsing of '" + path + "' failed: " + e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        // the first malformed auction of the file is reported, as it would be when parsing sequentially
+        boolean emptyInput = true;
+        int auctionCount = 0;
+        for (ChunkResult chunk : chunks) {
+            if (chunk.error != null) {
+                throw chunk.error;
+            }
+            emptyInput &= chunk.emptyInput;
+            auctionCount += chunk.auctions.size();
+        }
+        if (emptyInput) {
+            throw new FunctionalException("File '" + path + "' is empty");
+        }
+
+        List<Auction> auctions = new ArrayList<>(auctionCount);
+        for (ChunkResult chunk : chunks) {
+            auctions.addAll(chunk.auctions);
+        }
+        return auctions;
+    }
+
+    private static ChunkResult parseChunk(Path path, long start, long end, BidderDictionary dictionary) {
+        ChunkResult result = new ChunkResult();
+        try (MappedAuctionReader reader = new MappedAuctionReader(path, start, end, MappedAuctionReader.DEFAULT_WINDOW_SIZE, false, dictionary)) {
+            while (reader.hasNext()) {
+                result.auctions.add(reader.next());
+            }
+            result.emptyInput = reader.isEmptyInput();
+        } catch (FunctionalException e) {
+            result.error = e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    private static class ChunkResult {
+        private final List<Auction> auctions = new ArrayList<>();
+        private boolean emptyInput;
+        private FunctionalException error;
+    }
+}
@@ -1,10 +1,13 @@
 package com.teads.developmenttest.util;
 
 import com.teads.developmenttest.entity.Auction;
-import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.BidderDictionary;
+import com.teads.developmenttest.entity.ContentHasher;
 import com.teads.developmenttest.exception.functional.FunctionalException;
 import com.teads.developmenttest.exception.technical.TechnicalException;
 import com.teads.developmenttest.main.Application;
+import com.teads.developmenttest.metrics.Metrics;
+import com.teads.developmenttest.metrics.Stage;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
@@ -13,7 +16,6 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -24,30 +26,44 @@ public class ReaderUtil {
     public static final String BID_FORMAT_REG_EX = "^(\\w+?):(\\d*(?:,\\d+)*)$";
 
     public static String readInput(String fileName) throws IOException {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        File file = resolveFile(fileName);
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        String fileContent = new String(bytes);
+        fileContent = trimEmptyLines(fileContent);
+        if (StringUtils.isBlank(fileContent)) {
+            throw new FunctionalException("File '" + fileName + "' is empty");
+        }
+        if (Metrics.ENABLED) {
+            Metrics.addBytesParsed(bytes.length);
+            Metrics.recordStage(Stage.READ, start);
+        }
+        return fileContent;
+    }
+
+    public static File resolveFile(String fileName) {
         ClassLoader classLoader = Application.class.getClassLoader();
-        File file;
 
         try {
             URL resource = classLoader.getResource(fileName);
             if (resource != null) {
-                file = new File(resource.getFile());
-            } else {
-                throw new TechnicalException("File '" + fileName + "' does not exist");
+                return new File(resource.getFile());
             }
+            // falls back on the file system so that files outside of the classpath can be read too
+            File file = new File(fileName);
+            if (file.isFile()) {
+                return file;
+            }
+            throw new TechnicalException("File '" + fileName + "' does not exist");
         } catch (Exception e) {
-            System.out.println("ERROR: Unable to open the file '" + fileName + "'");
+            System.err.println("ERROR: Unable to open the file '" + fileName + "'");
             throw e;
         }
-
-        String fileContent = new String(Files.readAllBytes(file.toPath()));
-        fileContent = trimEmptyLines(fileContent);
-        if (StringUtils.isBlank(fileContent)) {
-            throw new FunctionalException("File '" + fileName + "' is empty");
-        }
-        return fileContent;
     }
 
     public static List<List<String>> validateAndFormatInput(String input) {
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
         String[] tokensArray = splitBy(input, SEPARATOR);
 
         //removes all empty lines
@@ -60,38 +76,40 @@ public class ReaderUtil {
 
         checkAuctionDefinitionsFormat(auctionDefinitionsList);
 
+        if (Metrics.ENABLED) {
+            Metrics.recordStage(Stage.VALIDATE, start);
+        }
         return auctionDefinitionsList;
     }
 
     public static List<Auction> convertToEntityList(List<List<String>> auctionDefinitionsList) {
-        return auctionDefinitionsList.stream()
-                .map(ReaderUtil::convertToEntity)
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        // the auctions share the identities of their bidders
+        AuctionLineParser lineParser = new AuctionLineParser(new BidderDictionary());
+        List<Auction> auctions = auctionDefinitionsList.stream()
+                .map(auctionDefinition -> convertToEntity(auctionDefinition, lineParser))
                 .collect(Collectors.toList());
+        if (Metrics.ENABLED) {
+            Metrics.recordStage(Stage.CONVERT, start);
+        }
+        return auctions;
     }
 
-    private static Auction convertToEntity(List<String> auctionDefinition) {
+    private static Auction convertToEntity(List<String> auctionDefinition, AuctionLineParser lineParser) {
         Auction auction = new Auction();
         for (int i = 0; i < auctionDefinition.size(); i++) {
             if (i == 0) {
-                Pattern AuctionFormatRegEx = Pattern.compile(AUCTION_FORMAT_REG_EX);
-                Matcher matcher = AuctionFormatRegEx.matcher(auctionDefinition.get(i));
-                matcher.find();
-                auction.setName(matcher.group(1));
-                auction.setReservePrice(Integer.parseInt(matcher.group(2)));
+                lineParser.parseAuctionLine(auctionDefinition.get(i));
+                auction.setName(lineParser.getName());
+                auction.setReservePrice(lineParser.getReservePrice());
             } else {
-                Bidder bidder = new Bidder();
-                Pattern BidFormatRegEx = Pattern.compile(BID_FORMAT_REG_EX);
-                Matcher matcher = BidFormatRegEx.matcher(auctionDefinition.get(i));
-                matcher.find();
-                bidder.setName(matcher.group(1));
-                List<Integer> bids = Arrays.stream(matcher.group(2).split(","))
-                        .filter(StringUtils::isNotBlank)
-                        .map(Integer::parseInt)
-                        .collect(Collectors.toList());
-                bidder.setBids(bids);
-                auction.getBidders().add(bidder);
+                lineParser.parseBidLine(auctionDefinition.get(i));
+                auction.getBidders().add(AuctionBlockParser.toBidder(lineParser));
             }
         }
+        ContentHasher contentHasher = lineParser.getContentHasher();
+        contentHasher.add(auction.getBidders().size());
+        auction.setContentHash(contentHasher);
         return auction;
     }
 
@@ -107,16 +125,13 @@ public class ReaderUtil {
     }
 
     private static void checkAuctionDefinitionsFormat(List<List<String>> auctionsList) {
+        AuctionLineParser lineParser = new AuctionLineParser();
         for (List<String> auction : auctionsList) {
             for (int i = 0; i < auction.size(); i++) {
                 if (i == 0) {
-                    if (!auction.get(i).matches(AUCTION_FORMAT_REG_EX)) {
-                        throw new FunctionalException("The auction '" + auction.get(i) + "' didn't match the input format: 'auction_name:reserve_price' ex: 'my_auction:10");
-                    }
+                    lineParser.parseAuctionLine(auction.get(i));
                 } else {
-                    if (!auction.get(i).matches(BID_FORMAT_REG_EX)) {
-                        throw new FunctionalException("The bid '" + auction.get(i) + "' didn't match the input format: 'bidder_name:bid0,Bid1...' ex: 'myself:10,20,30");
-                    }
+                    lineParser.parseBidLine(auction.get(i));
                 }
             }
         }
@@ -0,0 +1,130 @@
+package com.teads.developmenttest.binary;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.util.AuctionReader;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryAuctionLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @SneakyThrows
+    public void shouldLoadTheAuctionsOfTheConvertedTextFile() {
+        String input = "auction0: 10\n" +
+                "bidder0: 8, 10\n" +
+                "bidder1: 10, 12\n" +
+                "#_#\n" +
+                "auction1: 2\n" +
+                "bidder0: 8, 12\n" +
+                "bidder1:\n" +
+                "bidder1: 12, 18\n" +
+                "#_#\n" +
+                "auction2: 0";
+        List<Auction> expected = new ArrayList<>();
+        new AuctionReader("input", new StringReader(input)).forEachRemaining(expected::add);
+        Path file = directory.resolve("auctions.aucb");
+        assertEquals(3, BinaryAuctionConverter.convert(new AuctionReader("input", new StringReader(input)), file));
+
+        try (BinaryAuctionLoader loader = new BinaryAuctionLoader(file)) {
+            assertEquals(3, loader.getAuctionCount());
+            List<Auction> actual = new ArrayList<>();
+            loader.iterator().forEachRemaining(actual::add);
+            assertEquals(expected, actual);
+            assertEquals(expected.get(1), loader.load(1));
+            assertEquals(expected.get(0), loader.load(0));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldEvaluateTheAuctionsStraightFromTheFile() {
+        Random random = new Random(3);
+        List<Auction> auctions = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            List<Bidder> bidders = new ArrayList<>();
+            for (int j = 0; j < random.nextInt(6); j++) {
+                Bidder bidder = new Bidder("bidder" + random.nextInt(8), Collections.emptyList());
+                for (int k = 0; k < random.nextInt(4); k++) {
+                    bidder.addBid(random.nextInt(40) - 2);
+                }
+                bidders.add(bidder);
+            }
+            auctions.add(new Auction("auction" + i, random.nextInt(30) - 2, bidders));
+        }
+        Path file = directory.resolve("auctions.aucb");
+        BinaryAuctionConverter.convert(auctions.iterator(), file);
+        List<AuctionOutcome> expected = auctions.stream().map(Auction::evaluate).collect(Collectors.toList());
+
+        // a small window makes auctions lie across the end of the mappings
+        try (BinaryAuctionLoader loader = new BinaryAuctionLoader(file, 64)) {
+            List<AuctionOutcome> outcomes = new ArrayList<>();
+            loader.evaluateAll(outcomes::add);
+            assertEquals(expected, outcomes);
+            assertEquals(expected.get(1234), loader.evaluate(1234));
+            List<Auction> actual = new ArrayList<>();
+            loader.iterator().forEachRemaining(actual::add);
+            assertEquals(auctions, actual);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldOnlyDecodeTheBidderNamesWhenOpeningTheFile() {
+        List<Auction> auctions = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            auctions.add(new Auction("auction" + i, 5, List.of(new Bidder("bidder" + i % 2, List.of(i)))));
+        }
+        Path file = directory.resolve("auctions.aucb");
+        BinaryAuctionConverter.convert(auctions.iterator(), file);
+
+        try (BinaryAuctionLoader loader = new BinaryAuctionLoader(file, 64)) {
+            assertEquals(2, loader.getDecodedNameCount());
+            assertEquals("auction999", loader.load(999).getName());
+            assertEquals("auction3", loader.evaluate(3).getAuctionName());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldKeepThePreviousFileWhenAnAuctionIsMalformed() {
+        Path file = directory.resolve("auctions.aucb");
+        BinaryAuctionConverter.convert(new AuctionReader("input", new StringReader("auction0: 10\nbidder0: 12\n#_#\n")), file);
+        byte[] previous = Files.readAllBytes(file);
+
+        Exception exception = assertThrows(FunctionalException.class, () -> BinaryAuctionConverter.convert(
+                new AuctionReader("input", new StringReader("auction1: 10\nbidder0: 12\n#_#\nauction2: 10\nbid$der0: 8\n#_#\n")), file));
+        assertTrue(exception.getMessage().contains("The bid 'bid$der0:8' didn't match the input format"));
+        assertArrayEquals(previous, Files.readAllBytes(file));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(file), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldThrowExceptionWhenTheFileIsNotABinaryAuctionFile() {
+        Path file = directory.resolve("auctions.txt");
+        Files.writeString(file, "auction0: 10\nbidder0: 8, 10\nbidder1: 10, 12\n");
+        Exception exception = assertThrows(FunctionalException.class, () -> new BinaryAuctionLoader(file));
+        assertTrue(exception.getMessage().contains("is not a binary auction file"));
+    }
+}
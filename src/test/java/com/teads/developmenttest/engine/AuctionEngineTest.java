@@ -0,0 +1,69 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.output.ResultSink;
+import com.teads.developmenttest.util.AuctionReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionEngineTest {
+
+    @Test
+    public void shouldKeepTheOrderOfTheAuctionsWhenEvaluatingInParallel() {
+        List<Auction> auctions = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            int reservePrice = i % 7 == 0 ? 1000 : 5;
+            auctions.add(new Auction("auction" + i, reservePrice, List.of(
+                    new Bidder("bidder0", List.of(i % 50, 12)),
+                    new Bidder("bidder1", List.of(i % 31, 7)))));
+        }
+        List<AuctionOutcome> expected = auctions.stream().map(AuctionEngine::evaluate).collect(Collectors.toList());
+        assertEquals(expected, AuctionEngine.evaluateAll(auctions, 4));
+    }
+
+    @Test
+    public void shouldReturnTheMessageOfTheCancelledAuctions() {
+        Auction auction0 = new Auction("auction0", 10, List.of(new Bidder("bidder0", List.of(12)), new Bidder("bidder1", List.of(11))));
+        Auction auction1 = new Auction("auction1", 10, List.of(new Bidder("bidder0", List.of(1))));
+        List<AuctionOutcome> results = AuctionEngine.evaluateAll(List.of(auction0, auction1), 2);
+        assertEquals("The auction 'auction0' were won by 'bidder0' at the price of '11'", results.get(0).getMessage());
+        assertEquals("The auction 'auction1' is cancelled because the reserve price '10' has not been reached", results.get(1).getMessage());
+    }
+
+    @Test
+    public void shouldWriteTheAuctionsReadBeforeAMalformedOne() {
+        String input = "auction0: 10\nbidder0: 12\n#_#\nauction1: 10\nbidder0: 1\n#_#\nauction2:1e";
+        for (int parallelism : new int[]{1, 4}) {
+            List<AuctionOutcome> outcomes = new ArrayList<>();
+            ResultSink sink = new ResultSink() {
+                @Override
+                public void write(AuctionOutcome outcome) {
+                    outcomes.add(outcome);
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            try (AuctionEngine engine = new AuctionEngine(parallelism)) {
+                Exception exception = assertThrows(FunctionalException.class,
+                        () -> engine.evaluateAll(new AuctionReader("input", new StringReader(input)), sink));
+                assertTrue(exception.getMessage().contains("The auction 'auction2:1e' didn't match the input format"));
+            }
+            assertEquals(List.of("auction0", "auction1"), outcomes.stream().map(AuctionOutcome::getAuctionName).collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.output.ResultSink;
+import com.teads.developmenttest.util.AuctionReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionPipelineTest {
+
+    @Test
+    public void shouldWriteTheResultsInTheOrderOfTheAuctions() {
+        List<Auction> auctions = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            auctions.add(new Auction("auction" + i, i % 7 == 0 ? 1000 : 5, List.of(
+                    new Bidder("bidder0", List.of(i % 50, 12)),
+                    new Bidder("bidder1", List.of(i % 31, 7)))));
+        }
+        List<AuctionOutcome> expected = auctions.stream().map(AuctionEngine::evaluate).collect(Collectors.toList());
+
+        CollectingSink sink = new CollectingSink();
+        try (AuctionPipeline pipeline = new AuctionPipeline(4, 10, 2, null)) {
+            assertEquals(5000, pipeline.run(auctions.iterator(), sink));
+        }
+        assertEquals(expected, sink.outcomes);
+    }
+
+    @Test
+    public void shouldThrowTheParsingErrorAfterWritingThePreviousResults() {
+        String input = "auction0: 10\nbidder0: 12\n#_#\nauction1: 10\nbidder0: 1\n#_#\nauction2:1e";
+        CollectingSink sink = new CollectingSink();
+        try (AuctionPipeline pipeline = new AuctionPipeline(2, 1, 1, null)) {
+            Exception exception = assertThrows(FunctionalException.class,
+                    () -> pipeline.run(new AuctionReader("input", new StringReader(input)), sink));
+            assertTrue(exception.getMessage().contains("The auction 'auction2:1e' didn't match the input format"));
+        }
+        assertEquals(List.of("auction0", "auction1"), sink.outcomes.stream().map(AuctionOutcome::getAuctionName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldThrowTheErrorOfTheParser() {
+        Iterator<Auction> auctions = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Auction next() {
+                throw new StackOverflowError("parser");
+            }
+        };
+        try (AuctionPipeline pipeline = new AuctionPipeline(1, 1, 1, null)) {
+            Error error = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> assertThrows(StackOverflowError.class, () -> pipeline.run(auctions, new CollectingSink())));
+            assertEquals("parser", error.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldStopTheParserBeforeReturningWhenTheWriterFails() {
+        AtomicBoolean parsing = new AtomicBoolean();
+        Iterator<Auction> auctions = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Auction next() {
+                parsing.set(true);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                parsing.set(false);
+                return new Auction("auction0", 5, List.of(new Bidder("bidder0", List.of(8))));
+            }
+        };
+        ResultSink failingSink = new CollectingSink() {
+            @Override
+            public void write(AuctionOutcome outcome) {
+                throw new IllegalStateException("writer");
+            }
+        };
+        try (AuctionPipeline pipeline = new AuctionPipeline(1, 1, 1, null)) {
+            assertThrows(IllegalStateException.class, () -> pipeline.run(auctions, failingSink));
+        }
+        assertFalse(parsing.get());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheBatchSizeIsNotPositive() {
+        Exception exception = assertThrows(FunctionalException.class, () -> new AuctionPipeline(1, 0, 1, null));
+        assertTrue(exception.getMessage().contains("must be > 0"));
+    }
+
+    private static class CollectingSink implements ResultSink {
+        private final List<AuctionOutcome> outcomes = new ArrayList<>();
+
+        @Override
+        public void write(AuctionOutcome outcome) {
+            outcomes.add(outcome);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.util.AuctionReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationCacheTest {
+
+    @Test
+    public void shouldReturnTheCachedOutcomeOfAnUnchangedAuction() {
+        EvaluationCache cache = new EvaluationCache(10);
+        AuctionOutcome first = cache.evaluate(auction("auction0", 5, 8));
+        AuctionOutcome second = cache.evaluate(auction("auction0", 5, 8));
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldEvaluateAgainWhenTheReservePriceOrTheBidsChange() {
+        EvaluationCache cache = new EvaluationCache(10);
+        cache.evaluate(auction("auction0", 5, 8));
+        AuctionOutcome outcome = cache.evaluate(auction("auction0", 9, 8));
+        cache.evaluate(auction("auction0", 5, 7));
+
+        assertEquals(auction("auction0", 9, 8).evaluate(), outcome);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedOutcome() {
+        EvaluationCache cache = new EvaluationCache(2);
+        cache.evaluate(auction("auction0", 5, 8));
+        cache.evaluate(auction("auction1", 5, 8));
+        cache.evaluate(auction("auction0", 5, 8));
+        cache.evaluate(auction("auction2", 5, 8));
+        cache.evaluate(auction("auction0", 5, 8));
+        cache.evaluate(auction("auction1", 5, 8));
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldKeyAParsedAuctionOnTheHashOfItsParser() throws IOException {
+        Auction parsed = parse("auction0: 5\nbidder 0: 8, 3\nbidder1: 4\n#_#\n");
+        assertTrue(parsed.hasContentHash());
+
+        EvaluationCache cache = new EvaluationCache(10);
+        cache.evaluate(auction("auction0", 5, 8));
+        cache.evaluate(parsed);
+        assertEquals(1, cache.getHitCount());
+
+        parsed.setReservePrice(9);
+        assertFalse(parsed.hasContentHash());
+        assertEquals(auction("auction0", 9, 8).evaluate(), cache.evaluate(parsed));
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldEvaluateAgainWhenAParsedAuctionIsChangedInPlace() throws IOException {
+        Auction parsed = parse("auction0: 5\nbidder0: 8, 3\nbidder1: 4\n#_#\n");
+        EvaluationCache cache = new EvaluationCache(10);
+        cache.evaluate(parsed);
+
+        parsed.getBidders().get(1).addBid(9);
+        assertFalse(parsed.hasContentHash());
+        assertEquals("bidder1", cache.evaluate(parsed).getResult().getWinner().getName());
+
+        parsed.getBidders().add(new Bidder("bidder2", List.of(10)));
+        assertEquals("bidder2", cache.evaluate(parsed).getResult().getWinner().getName());
+
+        parsed.getBidders().set(2, new Bidder("bidder3", List.of(10)));
+        assertEquals("bidder3", cache.evaluate(parsed).getResult().getWinner().getName());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldNotHoldMoreOutcomesThanItsCapacity() {
+        EvaluationCache cache = new EvaluationCache(5000);
+        for (int i = 0; i < 20_000; i++) {
+            cache.evaluate(auction("auction" + i, 5, 8));
+        }
+
+        assertEquals(5000, cache.size());
+    }
+
+    @Test
+    public void shouldReloadTheSavedOutcomes(@TempDir Path directory) throws IOException {
+        List<Auction> auctions = List.of(
+                auction("auction0", 5, 8),
+                auction("auction1", 50, 8),
+                new Auction("auction2", 5, List.of(new Bidder("bidder0", List.of(8)), new Bidder("bidder1", List.of(8)))),
+                new Auction("auction3", 5, List.of()));
+        EvaluationCache cache = new EvaluationCache(10);
+        auctions.forEach(cache::evaluate);
+        Path file = directory.resolve("cache.bin");
+        cache.save(file);
+
+        EvaluationCache reloaded = EvaluationCache.load(file, 10);
+        for (Auction auction : auctions) {
+            assertEquals(auction.evaluate(), reloaded.evaluate(auction));
+        }
+        assertEquals(4, reloaded.getHitCount());
+        assertEquals(0, reloaded.getMissCount());
+    }
+
+    @Test
+    public void shouldReturnAnEmptyCacheWhenTheFileDoesNotExist(@TempDir Path directory) throws IOException {
+        assertEquals(0, EvaluationCache.load(directory.resolve("missing.bin"), 10).size());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheFileIsNotACache(@TempDir Path directory) throws IOException {
+        Path file = Files.writeString(directory.resolve("cache.bin"), "auction0: 10");
+        Exception exception = assertThrows(FunctionalException.class, () -> EvaluationCache.load(file, 10));
+        assertTrue(exception.getMessage().contains("is not an evaluation cache"));
+    }
+
+    private static Auction parse(String input) throws IOException {
+        try (AuctionReader reader = new AuctionReader("input", new StringReader(input))) {
+            return reader.next();
+        }
+    }
+
+    private static Auction auction(String name, int reservePrice, int bid) {
+        return new Auction(name, reservePrice, List.of(new Bidder("bidder0", List.of(bid, 3)), new Bidder("bidder1", List.of(4))));
+    }
+}
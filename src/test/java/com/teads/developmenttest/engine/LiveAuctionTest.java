@@ -0,0 +1,108 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.AuctionResult;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.CancellationReason;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveAuctionTest {
+
+    @Test
+    public void shouldUpdateTheResultAsBidsArePlaced() {
+        LiveAuction auction = new LiveAuction("auction0", 100);
+        Exception exception = assertThrows(FunctionalException.class, auction::currentResult);
+        assertTrue(exception.getMessage().contains("No bidders"));
+
+        auction.placeBid("A", 110);
+        auction.placeBid("A", 130);
+        auction.placeBid("C", 125);
+        assertEquals(new AuctionResult("auction0", new Bidder("A", List.of(110, 130)), 125), auction.currentResult());
+
+        auction.placeBid("D", 105);
+        auction.placeBid("E", 132);
+        auction.placeBid("E", 135);
+        auction.placeBid("D", 115);
+        auction.placeBid("D", 90);
+        auction.placeBid("E", 140);
+        assertEquals(new AuctionResult("auction0", new Bidder("E", List.of(132, 135, 140)), 130), auction.currentResult());
+    }
+
+    @Test
+    public void shouldReportTiesUntilABidderRaises() {
+        LiveAuction auction = new LiveAuction("auction0", 5);
+        auction.placeBid("bidder0", 5);
+        auction.placeBid("bidder1", 8);
+        auction.placeBid("bidder0", 8);
+        assertEquals(CancellationReason.TIE, auction.currentOutcome().getCancellationReason());
+        assertEquals(List.of("bidder0", "bidder1"), auction.currentOutcome().getTiedBidders());
+
+        auction.placeBid("bidder1", 9);
+        assertEquals(new AuctionResult("auction0", new Bidder("bidder1", List.of(8, 9)), 8), auction.currentResult());
+    }
+
+    @Test
+    public void shouldCopyTheBidsOfTheWinnerOnlyWhenItBidsAgain() {
+        LiveAuction auction = new LiveAuction("auction0", 5);
+        auction.placeBid("bidder0", 10);
+        auction.placeBid("bidder1", 8);
+        Bidder winner = auction.currentResult().getWinner();
+        assertSame(winner, auction.currentResult().getWinner());
+
+        auction.placeBid("bidder1", 9);
+        assertSame(winner, auction.currentResult().getWinner());
+
+        // a bid below its max bid doesn't change the ranking but changes the bids of the winner
+        auction.placeBid("bidder0", 7);
+        assertEquals(new AuctionResult("auction0", new Bidder("bidder0", List.of(10, 7)), 9), auction.currentResult());
+    }
+
+    @Test
+    public void shouldGiveTheSameOutcomeAsTheAuctionWhenRandomBidsArePlaced() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            LiveAuction auction = new LiveAuction("auction" + i, random.nextInt(20));
+            int bidCount = random.nextInt(12);
+            for (int j = 0; j < bidCount; j++) {
+                auction.placeBid("bidder" + random.nextInt(5), random.nextInt(25));
+            }
+            assertEquals(auction.toAuction().evaluate(), auction.currentOutcome());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldGiveTheSameOutcomeAsTheAuctionWhenBidsArePlacedConcurrently() {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 50; i++) {
+                LiveAuction auction = new LiveAuction("auction" + i, 100);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int thread = 0; thread < 8; thread++) {
+                    Random random = new Random(i * 31L + thread);
+                    futures.add(executor.submit(() -> {
+                        for (int j = 0; j < 2000; j++) {
+                            auction.placeBid("bidder" + random.nextInt(40), random.nextInt(100_000));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                assertEquals(auction.toAuction().evaluate(), auction.currentOutcome());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
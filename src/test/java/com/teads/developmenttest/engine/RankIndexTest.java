@@ -0,0 +1,101 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.BidderDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankIndexTest {
+
+    private static final List<Bidder> BIDDERS = List.of(
+            new Bidder("bidder0", List.of(8, 12)),
+            new Bidder("bidder1", List.of(10, 14)),
+            new Bidder("bidder2", List.of()),
+            new Bidder("bidder3", List.of(12)),
+            new Bidder("bidder1", List.of(12, 18)));
+
+    @Test
+    public void shouldReturnTheBestBiddersFirst() {
+        RankIndex index = new RankIndex(BIDDERS);
+        List<String> top = index.topK(3).stream().map(Bidder::getName).collect(Collectors.toList());
+
+        assertEquals(List.of("bidder1", "bidder0", "bidder3"), top);
+        assertEquals(new Bidder("bidder1", List.of(10, 14, 12, 18)), index.topK(1).get(0));
+        assertEquals(3, index.topK(10).size());
+        assertTrue(index.topK(0).isEmpty());
+    }
+
+    @Test
+    public void shouldShareTheRankOfTheBiddersWithTheSameMaxBid() {
+        RankIndex index = new RankIndex(BIDDERS);
+
+        assertEquals(1, index.rankOf(new Bidder("bidder1", List.of())));
+        assertEquals(2, index.rankOf(new Bidder("bidder0", List.of())));
+        assertEquals(2, index.rankOf(new Bidder("bidder3", List.of())));
+        assertEquals(-1, index.rankOf(new Bidder("bidder2", List.of())));
+        assertEquals(-1, index.rankOf(new Bidder("unknown", List.of())));
+    }
+
+    @Test
+    public void shouldCountTheBiddersAndTheBids() {
+        RankIndex index = new RankIndex(BIDDERS);
+
+        assertEquals(4, index.getBidderCount());
+        assertEquals(3, index.getRankedBidderCount());
+        assertEquals(7, index.getBidCount());
+        assertEquals(18, index.getMaxBidAt(0));
+    }
+
+    @Test
+    public void shouldRankTheBiddersOfALargeAuction() {
+        List<Bidder> bidders = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            bidders.add(new Bidder("bidder" + i, List.of(i % 10)));
+        }
+        RankIndex index = new RankIndex(bidders);
+
+        assertEquals(1, index.rankOf(new Bidder("bidder9", List.of())));
+        assertEquals(91, index.rankOf(new Bidder("bidder0", List.of())));
+        assertEquals(List.of("bidder9", "bidder19"), index.topK(2).stream().map(Bidder::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldGroupTheRegisteredBiddersOfALargeAuctionByIdentity() {
+        BidderDictionary dictionary = new BidderDictionary();
+        List<Bidder> bidders = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            bidders.add(new Bidder(dictionary.intern("bidder" + (i % 40)), new int[]{i}, 1));
+        }
+        RankIndex index = new RankIndex(bidders);
+
+        assertEquals(40, index.getBidderCount());
+        assertEquals(1, index.rankOf(new Bidder(dictionary.intern("bidder19"), new int[0], 0)));
+        assertEquals(1, index.rankOf(new Bidder("bidder19", List.of())));
+        assertEquals(40, index.rankOf(new Bidder("bidder20", List.of())));
+        assertEquals(-1, index.rankOf(new Bidder(dictionary.intern("unknown"), new int[0], 0)));
+        assertEquals(new Bidder("bidder19", List.of(19, 59, 99)), index.topK(1).get(0));
+    }
+
+    @Test
+    public void shouldGroupByNameTheBiddersOfDifferentDictionaries() {
+        BidderDictionary first = new BidderDictionary();
+        BidderDictionary second = new BidderDictionary();
+        second.intern("other");
+        // bidder0 of the first dictionary and other of the second share the id 0
+        List<Bidder> bidders = List.of(
+                new Bidder(first.intern("bidder0"), new int[]{10}, 1),
+                new Bidder(second.intern("bidder0"), new int[]{20}, 1),
+                new Bidder(second.get(0), new int[]{15}, 1));
+        RankIndex index = new RankIndex(bidders);
+
+        assertEquals(2, index.getBidderCount());
+        assertEquals(List.of("bidder0", "other"), index.topK(2).stream().map(Bidder::getName).collect(Collectors.toList()));
+        assertEquals("bidder0", new Auction("auction", 10, bidders).calculateAuctionResult().getWinner().getName());
+    }
+}
@@ -0,0 +1,80 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.CancellationReason;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReserveSweepTest {
+
+    @Test
+    public void shouldReturnTheOutcomeOfEachReservePrice() {
+        Auction auction = new Auction("auction0", 0, List.of(
+                new Bidder("bidder0", List.of(8, 10)),
+                new Bidder("bidder1", List.of(12, 3))));
+        ReserveSweep sweep = ReserveSweep.of(auction, new int[]{-5, 0, 5, 10, 11, 12, 13});
+
+        assertEquals(10, sweep.getWinningPrice(0));
+        assertEquals(10, sweep.getWinningPrice(1));
+        assertEquals(10, sweep.getWinningPrice(2));
+        assertEquals(10, sweep.getWinningPrice(3));
+        assertEquals(11, sweep.getWinningPrice(4));
+        assertEquals(12, sweep.getWinningPrice(5));
+        assertEquals(CancellationReason.RESERVE_PRICE_NOT_REACHED, sweep.getCancellationReason(6));
+        assertEquals("bidder1", sweep.getWinner().getName());
+    }
+
+    @Test
+    public void shouldCancelTheReservePricesGivingANonPositiveWinningPrice() {
+        Auction auction = new Auction("auction0", 0, List.of(new Bidder("bidder0", List.of(2)), new Bidder("bidder1", List.of(-1))));
+        ReserveSweep sweep = ReserveSweep.of(auction, new int[]{-2, 0, 1});
+
+        assertEquals(CancellationReason.NON_POSITIVE_WINNING_PRICE, sweep.getCancellationReason(0));
+        assertEquals(CancellationReason.NON_POSITIVE_WINNING_PRICE, sweep.getCancellationReason(1));
+        assertTrue(sweep.isWon(2));
+        assertEquals(1, sweep.getWinningPrice(2));
+    }
+
+    @Test
+    public void shouldReturnTheSameOutcomesAsEvaluatingEachReservePrice() {
+        Random random = new Random(7);
+        int[] reservePrices = ReserveSweep.range(-3, 40, 1);
+        for (int i = 0; i < 500; i++) {
+            List<Bidder> bidders = new ArrayList<>();
+            for (int j = random.nextInt(5); j > 0; j--) {
+                List<Integer> bids = new ArrayList<>();
+                for (int k = random.nextInt(3); k > 0; k--) {
+                    bids.add(random.nextInt(40) - 3);
+                }
+                bidders.add(new Bidder("bidder" + random.nextInt(4), bids));
+            }
+            Auction auction = new Auction("auction" + i, 0, bidders);
+            ReserveSweep sweep = ReserveSweep.of(auction, reservePrices);
+            for (int k = 0; k < reservePrices.length; k++) {
+                auction.setReservePrice(reservePrices[k]);
+                assertEquals(auction.evaluate(), sweep.getOutcome(k));
+            }
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheReservePricesAreNotSorted() {
+        Auction auction = new Auction("auction0", 0, List.of());
+        Exception exception = assertThrows(FunctionalException.class, () -> ReserveSweep.of(auction, new int[]{2, 1}));
+        assertTrue(exception.getMessage().contains("must be sorted"));
+    }
+
+    @Test
+    public void shouldBuildTheReservePricesOfARange() {
+        assertArrayEquals(new int[]{1, 4, 7, 10}, ReserveSweep.range(1, 10, 3));
+        Exception exception = assertThrows(FunctionalException.class, () -> ReserveSweep.range(1, 10, 0));
+        assertTrue(exception.getMessage().contains("min <= max and a step > 0"));
+    }
+}
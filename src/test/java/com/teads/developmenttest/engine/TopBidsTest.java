@@ -0,0 +1,116 @@
+package com.teads.developmenttest.engine;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionResult;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopBidsTest {
+
+    @Test
+    public void shouldKeepTheTwoHighestDistinctMaxBids() {
+        TopBids topBids = new TopBids();
+        topBids.accept(0, 5);
+        topBids.accept(1, 9);
+        topBids.accept(2, 7);
+        topBids.accept(3, 50);
+        assertEquals(50, topBids.getBestBid());
+        assertEquals(1, topBids.getBestBidCount());
+        assertEquals(3, topBids.getWinnerIndex());
+        assertEquals(9, topBids.getSecondBid());
+        assertEquals(9, topBids.getWinningPrice(7));
+        assertEquals(30, topBids.getWinningPrice(30));
+    }
+
+    @Test
+    public void shouldCountTheBiddersHavingTheBestBid() {
+        TopBids topBids = new TopBids();
+        topBids.accept(0, 8);
+        topBids.accept(1, 3);
+        topBids.accept(2, 8);
+        assertEquals(8, topBids.getBestBid());
+        assertEquals(2, topBids.getBestBidCount());
+        assertEquals(0, topBids.getWinnerIndex());
+        assertEquals(3, topBids.getSecondBid());
+
+        topBids.reset();
+        assertFalse(topBids.hasBids());
+        topBids.accept(4, 1);
+        assertFalse(topBids.hasSecondBid());
+        assertEquals(6, topBids.getWinningPrice(6));
+    }
+
+    @Test
+    public void shouldGiveTheSameResultsAsTheMapBasedEvaluation() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            List<Bidder> bidders = new ArrayList<>();
+            int bidderCount = random.nextInt(6);
+            for (int j = 0; j < bidderCount; j++) {
+                List<Integer> bids = new ArrayList<>();
+                int bidCount = random.nextInt(4);
+                for (int k = 0; k < bidCount; k++) {
+                    bids.add(random.nextInt(30) - 3);
+                }
+                bidders.add(new Bidder("bidder" + j, bids));
+            }
+            Auction auction = new Auction("auction" + i, random.nextInt(25) - 2, bidders);
+            assertEquals(evaluateWithMaps(auction), evaluate(auction), auction.toString());
+        }
+    }
+
+    private static String evaluate(Auction auction) {
+        try {
+            AuctionResult result = auction.calculateAuctionResult();
+            return result.getWinner().getName() + " " + result.getWinningPrice();
+        } catch (FunctionalException e) {
+            return e.getMessage();
+        }
+    }
+
+    // evaluation as it was done before the single pass one, tied bidders are sorted to get a stable message
+    private static String evaluateWithMaps(Auction auction) {
+        int reservePrice = auction.getReservePrice();
+        if (auction.getBidders().isEmpty()) {
+            return "No bidders, the auction is cancelled";
+        }
+        Map<Bidder, Integer> maxBidByBidder = auction.getBidders().stream()
+                .filter(Bidder::hasBids)
+                .collect(Collectors.toMap(bidder -> bidder, bidder -> Collections.max(bidder.getBids())));
+        Optional<Map.Entry<Bidder, Integer>> winner = maxBidByBidder.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .filter(entry -> entry.getValue() >= reservePrice);
+        if (winner.isEmpty()) {
+            return "The auction '" + auction.getName() + "' is cancelled because the reserve price '" + reservePrice + "' has not been reached";
+        }
+        List<String> allWinners = maxBidByBidder.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(winner.get().getValue()))
+                .map(entry -> entry.getKey().getName())
+                .sorted()
+                .collect(Collectors.toList());
+        if (allWinners.size() > 1) {
+            return "The auction '" + auction.getName() + "' is cancelled because bidders '" + String.join(", ", allWinners) + "' had the same bid : '" + winner.get().getValue() + "'";
+        }
+        int winningPrice = maxBidByBidder.entrySet().stream()
+                .filter(entry -> entry.getKey() != winner.get().getKey())
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getValue)
+                .filter(bid -> bid >= reservePrice)
+                .orElse(reservePrice);
+        if (winningPrice <= 0) {
+            return "The auction '" + auction.getName() + "' is cancelled because the winning price must be > 0. Please check your data";
+        }
+        return winner.get().getKey().getName() + " " + winningPrice;
+    }
+}
@@ -4,6 +4,7 @@ package com.teads.developmenttest.entity;
 import com.teads.developmenttest.exception.functional.FunctionalException;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -146,4 +147,109 @@ public class AuctionTest
         exception = assertThrows(FunctionalException.class, auction0::calculateAuctionResult);
         assertTrue(exception.getMessage().contains(expectedMessage));
     }
+
+    @Test
+    public void shouldReturnACancelledOutcomeWithTheTiedBidders() {
+        Bidder bidder0 = new Bidder("bidder0", List.of(1, 2));
+        Bidder bidder1 = new Bidder("bidder1", List.of(2, 6, 8));
+        Bidder bidder2 = new Bidder("bidder2", List.of(1, 5, 8));
+        Auction auction0 = new Auction("auction0", 6, List.of(bidder0, bidder1, bidder2));
+
+        AuctionOutcome outcome = auction0.evaluate();
+        assertFalse(outcome.isWon());
+        assertEquals(CancellationReason.TIE, outcome.getCancellationReason());
+        assertEquals(List.of("bidder1", "bidder2"), outcome.getTiedBidders());
+        assertEquals(8, outcome.getTiedBid());
+        assertEquals("The auction 'auction0' is cancelled because bidders 'bidder1, bidder2' had the same bid : '8'", outcome.getMessage());
+    }
+
+    @Test
+    public void shouldReturnTheReasonOfTheCancellation() {
+        Auction auction0 = new Auction("auction0", 1, Collections.emptyList());
+        assertEquals(CancellationReason.NO_BIDDERS, auction0.evaluate().getCancellationReason());
+
+        auction0.setBidders(List.of(new Bidder("bidder0", List.of(1, 5))));
+        auction0.setReservePrice(6);
+        assertEquals(CancellationReason.RESERVE_PRICE_NOT_REACHED, auction0.evaluate().getCancellationReason());
+
+        auction0.setReservePrice(0);
+        auction0.setBidders(List.of(new Bidder("bidder0", List.of(0)), new Bidder("bidder1", List.of(-1))));
+        assertEquals(CancellationReason.NON_POSITIVE_WINNING_PRICE, auction0.evaluate().getCancellationReason());
+    }
+
+    @Test
+    public void shouldReturnAWonOutcome() {
+        Bidder bidder0 = new Bidder("bidder0", List.of(1, 5));
+        Bidder bidder1 = new Bidder("bidder1", List.of(1, 6, 9));
+        Auction auction0 = new Auction("auction0", 3, List.of(bidder0, bidder1));
+
+        AuctionOutcome outcome = auction0.evaluate();
+        assertTrue(outcome.isWon());
+        assertNull(outcome.getCancellationReason());
+        assertEquals(new AuctionResult("auction0", bidder1, 5), outcome.getResult());
+        assertEquals("The auction 'auction0' were won by 'bidder1' at the price of '5'", outcome.getMessage());
+    }
+
+    @Test
+    public void shouldMergeTheBidsOfABidderAppearingOnSeveralLines() {
+        Bidder bidder0 = new Bidder("bidder0", List.of(8, 12));
+        Bidder bidder1 = new Bidder("bidder1", List.of(10, 14));
+        Bidder bidder1Again = new Bidder("bidder1", List.of(12, 18));
+        Auction auction1 = new Auction("auction1", 10, List.of(bidder0, bidder1, bidder1Again));
+
+        AuctionResult expectedAuctionResult = new AuctionResult("auction1", new Bidder("bidder1", List.of(10, 14, 12, 18)), 12);
+        assertEquals(expectedAuctionResult, auction1.calculateAuctionResult());
+    }
+
+    @Test
+    public void shouldNotConsiderABidderAppearingOnSeveralLinesAsATie() {
+        Bidder bidder0 = new Bidder("bidder0", List.of(3));
+        Bidder bidder1 = new Bidder("bidder1", List.of(8));
+        Bidder bidder1Again = new Bidder("bidder1", List.of(8));
+        Auction auction0 = new Auction("auction0", 2, List.of(bidder0, bidder1, bidder1Again));
+
+        AuctionOutcome outcome = auction0.evaluate();
+        assertTrue(outcome.isWon());
+        assertEquals("bidder1", outcome.getResult().getWinner().getName());
+        assertEquals(3, outcome.getResult().getWinningPrice());
+    }
+
+    @Test
+    public void shouldMergeTheBidsOfABidderAmongManyBidders() {
+        List<Bidder> bidders = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            bidders.add(new Bidder("bidder" + i, List.of(i)));
+        }
+        bidders.add(new Bidder("bidder5", List.of(100)));
+        Auction auction0 = new Auction("auction0", 1, bidders);
+
+        AuctionResult auctionResult = auction0.calculateAuctionResult();
+        assertEquals(new Bidder("bidder5", List.of(5, 100)), auctionResult.getWinner());
+        assertEquals(39, auctionResult.getWinningPrice());
+    }
+
+    @Test
+    public void shouldRebuildTheRankIndexWhenTheBiddersAreReplaced() {
+        Auction auction0 = new Auction("auction0", 1, List.of(new Bidder("bidder0", List.of(5)), new Bidder("bidder1", List.of(3))));
+        assertEquals(1, auction0.rankOf(new Bidder("bidder0", List.of())));
+        assertEquals(new Auction("auction0", 1, auction0.getBidders()), auction0);
+
+        auction0.setBidders(List.of(new Bidder("bidder0", List.of(5)), new Bidder("bidder1", List.of(9))));
+        assertEquals(2, auction0.rankOf(new Bidder("bidder0", List.of())));
+        assertEquals("bidder1", auction0.topK(1).get(0).getName());
+        assertEquals("bidder1", auction0.calculateAuctionResult().getWinner().getName());
+        assertEquals(5, auction0.calculateAuctionResult().getWinningPrice());
+    }
+
+    @Test
+    public void shouldEvaluateTheBiddersChangedInPlaceAfterARankingQuery() {
+        Bidder bidder1 = new Bidder("bidder1", List.of(3));
+        Auction auction0 = new Auction("auction0", 1, List.of(new Bidder("bidder0", List.of(5)), bidder1));
+        assertEquals("bidder0", auction0.calculateAuctionResult().getWinner().getName());
+        assertEquals(1, auction0.rankOf(new Bidder("bidder0", List.of())));
+
+        bidder1.addBid(9);
+        assertEquals("bidder1", auction0.calculateAuctionResult().getWinner().getName());
+        assertEquals(5, auction0.calculateAuctionResult().getWinningPrice());
+    }
 }
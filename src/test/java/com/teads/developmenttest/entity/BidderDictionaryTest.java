@@ -0,0 +1,50 @@
+package com.teads.developmenttest.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BidderDictionaryTest {
+
+    @Test
+    public void shouldGiveTheSameIdentityToTheSameName() {
+        BidderDictionary dictionary = new BidderDictionary();
+        BidderIdentity bidder0 = dictionary.intern("bidder0");
+        BidderIdentity bidder1 = dictionary.intern("bidder1");
+        assertSame(bidder0, dictionary.intern(new String("bidder0")));
+        assertEquals(0, bidder0.getId());
+        assertEquals(1, bidder1.getId());
+        assertSame(bidder1, dictionary.get(1));
+        assertEquals(2, dictionary.size());
+        assertFalse(BidderIdentity.unregistered("bidder0").isRegistered());
+    }
+
+    @Test
+    public void shouldGiveDenseIdsWhenNamesAreInternedConcurrently() {
+        BidderDictionary dictionary = new BidderDictionary();
+        List<BidderIdentity> identities = IntStream.range(0, 100_000)
+                .parallel()
+                .mapToObj(i -> dictionary.intern("bidder" + (i % 1000)))
+                .collect(Collectors.toList());
+        assertEquals(1000, dictionary.size());
+        Set<Integer> ids = identities.stream().map(BidderIdentity::getId).collect(Collectors.toSet());
+        assertEquals(IntStream.range(0, 1000).boxed().collect(Collectors.toSet()), ids);
+        for (BidderIdentity identity : identities) {
+            assertSame(identity, dictionary.get(identity.getId()));
+        }
+    }
+
+    @Test
+    public void shouldCompareBiddersByNameWhateverTheirIdentity() {
+        BidderDictionary dictionary = new BidderDictionary();
+        Bidder bidder0 = new Bidder(dictionary.intern("bidder0"), new int[]{1, 2}, 2);
+        Bidder bidder1 = new Bidder("bidder0", List.of(1, 2));
+        assertEquals(bidder0, bidder1);
+        assertEquals(bidder0.hashCode(), bidder1.hashCode());
+    }
+}
@@ -0,0 +1,47 @@
+package com.teads.developmenttest.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BidderTest {
+
+    @Test
+    public void shouldKeepTheMaxBidWhenBidsAreAdded() {
+        Bidder bidder = new Bidder("bidder0", Collections.emptyList());
+        assertFalse(bidder.hasBids());
+        bidder.addBid(5);
+        bidder.addBid(12);
+        bidder.addBid(7);
+        assertTrue(bidder.hasBids());
+        assertEquals(12, bidder.getMaxBid());
+        assertEquals(List.of(5, 12, 7), bidder.getBids());
+    }
+
+    @Test
+    public void shouldBeEqualWhateverTheWayTheBidsWereGiven() {
+        Bidder bidder0 = new Bidder("bidder0", List.of(1, 6, 9));
+        Bidder bidder1 = new Bidder("bidder0", new int[]{1, 6, 9, 42}, 3);
+        Bidder bidder2 = new Bidder("bidder0", Collections.emptyList());
+        bidder2.addBid(1);
+        bidder2.addBid(6);
+        bidder2.addBid(9);
+        assertEquals(bidder0, bidder1);
+        assertEquals(bidder0, bidder2);
+        assertEquals(bidder0.hashCode(), bidder1.hashCode());
+        assertEquals(bidder0.hashCode(), bidder2.hashCode());
+        assertEquals(9, bidder1.getMaxBid());
+        assertNotEquals(bidder0, new Bidder("bidder0", List.of(1, 6)));
+        assertNotEquals(bidder0, new Bidder("bidder1", List.of(1, 6, 9)));
+    }
+
+    @Test
+    public void shouldExposeReadOnlyBids() {
+        Bidder bidder = new Bidder("bidder0", List.of(1, 6, 9));
+        assertThrows(UnsupportedOperationException.class, () -> bidder.getBids().add(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> bidder.getBid(3));
+    }
+}
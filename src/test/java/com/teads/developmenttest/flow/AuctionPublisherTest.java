@@ -0,0 +1,211 @@
+package com.teads.developmenttest.flow;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.util.AuctionReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionPublisherTest {
+
+    @Test
+    public void shouldOnlyReadTheRequestedAuctions() {
+        AtomicInteger read = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        Iterator<Auction> auctions = countingAuctions(100, read);
+        AuctionPublisher publisher = new AuctionPublisher(auctions, () -> closed.set(true), Runnable::run);
+        RecordingSubscriber<Auction> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        assertEquals(2, subscriber.items.size());
+        assertEquals(2, read.get());
+
+        subscriber.subscription.request(3);
+        assertEquals(5, read.get());
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(10);
+
+        assertEquals(5, subscriber.items.size());
+        assertEquals(5, read.get());
+        assertTrue(closed.get());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void shouldCompleteOnceAllTheAuctionsArePublished() {
+        AuctionPublisher publisher = new AuctionPublisher(countingAuctions(3, new AtomicInteger()), null, Runnable::run);
+        RecordingSubscriber<Auction> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(3, subscriber.items.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void shouldEvaluateThePublishedAuctions() {
+        String input = "auction0: 10\nbidder0: 8, 12\nbidder1: 11\n#_#\nauction1: 20\nbidder0: 8";
+        AuctionReader reader = new AuctionReader("input", new StringReader(input));
+        AuctionPublisher publisher = new AuctionPublisher(reader, reader, Runnable::run);
+        AuctionEvaluationProcessor processor = new AuctionEvaluationProcessor();
+        RecordingSubscriber<AuctionOutcome> subscriber = new RecordingSubscriber<>();
+        processor.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        publisher.subscribe(processor);
+
+        assertEquals(List.of("The auction 'auction0' were won by 'bidder0' at the price of '11'"),
+                subscriber.items.stream().map(AuctionOutcome::getMessage).collect(Collectors.toList()));
+        subscriber.subscription.request(5);
+        assertEquals(2, subscriber.items.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void shouldSignalTheParsingErrors() {
+        AuctionReader reader = new AuctionReader("input", new StringReader("auction0:1e"));
+        AuctionPublisher publisher = new AuctionPublisher(reader, reader, Runnable::run);
+        RecordingSubscriber<Auction> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.error instanceof FunctionalException);
+        assertTrue(subscriber.error.getMessage().contains("The auction 'auction0:1e' didn't match the input format"));
+    }
+
+    @Test
+    public void shouldCancelWithoutSignallingASubscriberWhichThrows() {
+        AtomicInteger read = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        AuctionPublisher publisher = new AuctionPublisher(countingAuctions(5, read), () -> closed.set(true), Runnable::run);
+        RecordingSubscriber<Auction> subscriber = new RecordingSubscriber<>() {
+            @Override
+            public void onNext(Auction item) {
+                throw new IllegalStateException("subscriber failure");
+            }
+        };
+        publisher.subscribe(subscriber);
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        PrintStream previousErr = System.err;
+        System.setErr(new PrintStream(errors, true, StandardCharsets.UTF_8));
+        try {
+            subscriber.subscription.request(3);
+            subscriber.subscription.request(3);
+        } finally {
+            System.setErr(previousErr);
+        }
+
+        assertEquals(1, read.get());
+        assertTrue(closed.get());
+        assertNull(subscriber.error);
+        assertFalse(subscriber.completed);
+        assertEquals("ERROR: The subscriber of the auctions failed and has been cancelled: java.lang.IllegalStateException: subscriber failure"
+                + System.lineSeparator(), errors.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldSignalTheErrorsOfTheReader() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Iterator<Auction> auctions = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Auction next() {
+                throw new StackOverflowError("reader failure");
+            }
+        };
+        AuctionPublisher publisher = new AuctionPublisher(auctions, () -> closed.set(true), Runnable::run);
+        RecordingSubscriber<Auction> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.error instanceof StackOverflowError);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void shouldSignalAnErrorWhenTheDemandIsNotPositive() {
+        AuctionPublisher publisher = new AuctionPublisher(countingAuctions(3, new AtomicInteger()), null, Runnable::run);
+        RecordingSubscriber<Auction> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    @Test
+    public void shouldRejectASecondSubscriber() {
+        AuctionPublisher publisher = new AuctionPublisher(countingAuctions(3, new AtomicInteger()), null, Runnable::run);
+        publisher.subscribe(new RecordingSubscriber<>());
+        RecordingSubscriber<Auction> second = new RecordingSubscriber<>();
+        publisher.subscribe(second);
+
+        assertTrue(second.error instanceof IllegalStateException);
+    }
+
+    private static Iterator<Auction> countingAuctions(int count, AtomicInteger read) {
+        List<Auction> auctions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            auctions.add(new Auction("auction" + i, 1, List.of(new Bidder("bidder0", List.of(i)))));
+        }
+        Iterator<Auction> iterator = auctions.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Auction next() {
+                read.incrementAndGet();
+                return iterator.next();
+            }
+        };
+    }
+
+    private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        private final List<T> items = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
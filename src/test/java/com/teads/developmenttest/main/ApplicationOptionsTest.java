@@ -0,0 +1,78 @@
+package com.teads.developmenttest.main;
+
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicationOptionsTest {
+
+    @Test
+    public void shouldAcceptTheCacheWithTheModesEvaluatingThroughIt() {
+        ApplicationOptions options = ApplicationOptions.parse(new String[]{"--cache", "--pipeline", "--parallelism=2", "input.txt"});
+
+        assertTrue(options.isCache());
+        assertTrue(options.isPipeline());
+        assertEquals("input.txt", options.getFilePath());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheCacheIsUsedWithAModeIgnoringIt() {
+        for (String option : new String[]{"--binary", "--off-heap", "--sweep=0:10:1", "--lenient", "--server=0"}) {
+            Exception exception = assertThrows(FunctionalException.class, () -> ApplicationOptions.parse(new String[]{"--cache", option, "input.txt"}));
+            assertTrue(exception.getMessage().contains("The option '--cache' can't be used with '" + option.split("=")[0] + "'"));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheMetricsAreUsedWithShards() {
+        Exception exception = assertThrows(FunctionalException.class, () -> ApplicationOptions.parse(new String[]{"--metrics", "--shards=2", "input.txt"}));
+        assertTrue(exception.getMessage().contains("The option '--metrics' can't be used with '--shards'"));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTwoModesAreCombined() {
+        Exception exception = assertThrows(FunctionalException.class, () -> ApplicationOptions.parse(new String[]{"--binary", "--off-heap", "input.txt"}));
+        assertTrue(exception.getMessage().contains("The option '--off-heap' can't be used with '--binary'"));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenAModeIgnoresAReadingOption() {
+        String[] modes = {"--binary", "--off-heap", "--sweep=0:10:1", "--convert=output.aucb", "--lenient", "--tail=directory", "--server=0"};
+        String[] readingOptions = {"--parallelism=2", "--parse-parallelism=2", "--pipeline", "--streaming"};
+        for (String mode : modes) {
+            for (String readingOption : readingOptions) {
+                Exception exception = assertThrows(FunctionalException.class, () -> ApplicationOptions.parse(new String[]{mode, readingOption, "input.txt"}));
+                assertTrue(exception.getMessage().contains("The option '" + readingOption.split("=")[0] + "' can't be used with '" + mode.split("=")[0] + "'"));
+            }
+        }
+        for (String mode : new String[]{"--binary", "--lenient", "--server=0"}) {
+            Exception exception = assertThrows(FunctionalException.class, () -> ApplicationOptions.parse(new String[]{mode, "--mmap", "input.txt"}));
+            assertTrue(exception.getMessage().contains("The option '--mmap' can't be used with '" + mode.split("=")[0] + "'"));
+        }
+    }
+
+    @Test
+    public void shouldAcceptTheReadingOptionsUsedByTheModes() {
+        assertTrue(ApplicationOptions.parse(new String[]{"--off-heap", "--mmap", "input.txt"}).isMemoryMapped());
+        assertTrue(ApplicationOptions.parse(new String[]{"--sweep=0:10:1", "--mmap", "input.txt"}).isMemoryMapped());
+        assertEquals(4, ApplicationOptions.parse(new String[]{"--shards=2", "--parallelism=4", "input.txt"}).getParallelism());
+        assertTrue(ApplicationOptions.parse(new String[]{"--pipeline", "--mmap", "--parallelism=4", "input.txt"}).isPipeline());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenAnOptionOverridesAnother() {
+        String[][] combinations = {
+                {"--parse-parallelism=2", "--pipeline"},
+                {"--parse-parallelism=2", "--mmap"},
+                {"--parse-parallelism=2", "--streaming"},
+                {"--output=results.txt", "--server=0"},
+                {"--output=results.txt", "--convert=output.aucb"}};
+        for (String[] combination : combinations) {
+            Exception exception = assertThrows(FunctionalException.class,
+                    () -> ApplicationOptions.parse(new String[]{combination[0], combination[1], "input.txt"}));
+            assertTrue(exception.getMessage().contains("The option '" + combination[0].split("=")[0] + "' can't be used with '"
+                    + combination[1].split("=")[0] + "'"));
+        }
+    }
+}
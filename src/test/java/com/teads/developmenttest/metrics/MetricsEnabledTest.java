@@ -0,0 +1,97 @@
+package com.teads.developmenttest.metrics;
+
+import com.teads.developmenttest.engine.EvaluationCache;
+import com.teads.developmenttest.main.Application;
+import com.teads.developmenttest.store.OffHeapAuctionStore;
+import com.teads.developmenttest.util.AuctionReader;
+import com.teads.developmenttest.util.MappedAuctionReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// run by the 'metrics-enabled' surefire execution, in a JVM started with -Dauction.metrics=true
+class MetricsEnabledTest {
+
+    private static final String INPUT = "auction0: 10\nbidder0: 8, 12\nbidder1: 11\n#_#\nauction1: 20\nbidder0: 8\n#_#\n";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void shouldBeEnabledByTheSystemProperty() {
+        assertTrue(Metrics.ENABLED);
+    }
+
+    @Test
+    public void shouldRecordTheStagesOfTheStreamingReaders() throws Exception {
+        Metrics.reset();
+        try (AuctionReader reader = new AuctionReader("input", new StringReader(INPUT))) {
+            reader.forEachRemaining(auction -> auction.evaluate());
+        }
+        try (MappedAuctionReader reader = new MappedAuctionReader(write(INPUT))) {
+            reader.forEachRemaining(auction -> auction.evaluate());
+        }
+
+        assertEquals(4, Metrics.getLatency(Stage.PARSE).getCount());
+        assertEquals(4, Metrics.getLatency(Stage.EVALUATE).getCount());
+        assertEquals(4, Metrics.getAuctionCount());
+        assertEquals(8, Metrics.getBidCount());
+        assertEquals(2 * INPUT.length(), Metrics.getBytesParsed());
+        Metrics.reset();
+    }
+
+    @Test
+    public void shouldRecordTheEvaluationsOfTheOffHeapStore() throws Exception {
+        OffHeapAuctionStore store;
+        try (AuctionReader reader = new AuctionReader("input", new StringReader(INPUT))) {
+            store = OffHeapAuctionStore.of(reader);
+        }
+        Metrics.reset();
+        store.evaluateAll(outcome -> { });
+
+        assertEquals(2, Metrics.getAuctionCount());
+        assertEquals(4, Metrics.getBidCount());
+        assertEquals(1, Metrics.getWonCount());
+        Metrics.reset();
+    }
+
+    @Test
+    public void shouldRecordTheCacheHits() throws Exception {
+        EvaluationCache cache = new EvaluationCache(10);
+        Metrics.reset();
+        for (int i = 0; i < 2; i++) {
+            try (AuctionReader reader = new AuctionReader("input", new StringReader(INPUT))) {
+                reader.forEachRemaining(cache::evaluate);
+            }
+        }
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(4, Metrics.getAuctionCount());
+        assertEquals(8, Metrics.getBidCount());
+        assertEquals(2, Metrics.getWonCount());
+        assertEquals(4, Metrics.getLatency(Stage.EVALUATE).getCount());
+        Metrics.reset();
+    }
+
+    @Test
+    public void shouldRecordTheAuctionsOfTheLenientMode() throws Exception {
+        Path input = write(INPUT + "auction2: 10\nbid$der0: 8\n#_#\n");
+        Metrics.reset();
+        Application.main(new String[]{"--metrics", "--lenient", "--output=" + directory.resolve("results.txt"),
+                "--errors=" + directory.resolve("errors.txt"), input.toString()});
+
+        assertEquals(2, Metrics.getAuctionCount());
+        assertEquals(1, Metrics.getWonCount());
+        Metrics.reset();
+    }
+
+    private Path write(String content) throws Exception {
+        return Files.write(directory.resolve("input.txt"), content.getBytes(StandardCharsets.US_ASCII));
+    }
+}
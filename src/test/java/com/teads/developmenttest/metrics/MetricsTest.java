@@ -0,0 +1,58 @@
+package com.teads.developmenttest.metrics;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.CancellationReason;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @Test
+    public void shouldCountTheAuctionsByOutcome() {
+        Metrics.reset();
+        long start = System.nanoTime();
+        Metrics.recordEvaluation(new Auction("auction0", 5, List.of(new Bidder("bidder0", List.of(8, 10)))).evaluate(), 2, start);
+        Metrics.recordEvaluation(new Auction("auction1", 50, List.of(new Bidder("bidder0", List.of(8)))).evaluate(), 1, start);
+        Metrics.recordEvaluation(new Auction("auction2", 5, List.of()).evaluate(), 0, start);
+        Metrics.addBytesParsed(120);
+
+        assertEquals(3, Metrics.getAuctionCount());
+        assertEquals(3, Metrics.getBidCount());
+        assertEquals(120, Metrics.getBytesParsed());
+        assertEquals(1, Metrics.getWonCount());
+        assertEquals(1, Metrics.getCancelledCount(CancellationReason.RESERVE_PRICE_NOT_REACHED));
+        assertEquals(1, Metrics.getCancelledCount(CancellationReason.NO_BIDDERS));
+        assertEquals(0, Metrics.getCancelledCount(CancellationReason.TIE));
+        assertEquals(3, Metrics.getLatency(Stage.EVALUATE).getCount());
+        assertTrue(Metrics.summary().startsWith("3 auctions"));
+        assertTrue(Metrics.summary().contains("reserve_price_not_reached 1"));
+        Metrics.reset();
+    }
+
+    @Test
+    public void shouldOnlyUnregisterTheMetricsOfTheReporterWhichRegisteredThem() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(MetricsReporter.OBJECT_NAME);
+        PrintStream out = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+        try (MetricsReporter first = new MetricsReporter(out, 3600)) {
+            new MetricsReporter(out, 3600).close();
+            assertTrue(server.isRegistered(objectName));
+        }
+        assertFalse(server.isRegistered(objectName));
+    }
+
+    @Test
+    public void shouldBeDisabledByDefault() {
+        assertFalse(Metrics.ENABLED);
+    }
+}
@@ -0,0 +1,101 @@
+package com.teads.developmenttest.output;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriterResultSinkTest {
+
+    private static final List<AuctionOutcome> OUTCOMES = List.of(
+            new Auction("auction0", 5, List.of(new Bidder("bidder0", List.of(8, 10)), new Bidder("bidder1", List.of(-12)))).evaluate(),
+            new Auction("auction1", 50, List.of(new Bidder("bidder0", List.of(8)))).evaluate(),
+            new Auction("auction2", 5, List.of(new Bidder("bidder0", List.of(8)), new Bidder("bidder1", List.of(8)))).evaluate(),
+            new Auction("auction3", 5, List.of()).evaluate(),
+            new Auction("auction4", 0, List.of(new Bidder("bidder0", List.of(0)), new Bidder("bidder1", List.of(-1)))).evaluate());
+
+    @Test
+    public void shouldWriteTheMessagesOfTheOutcomes() throws IOException {
+        String expected = OUTCOMES.stream().map(AuctionOutcome::getMessage).collect(Collectors.joining(System.lineSeparator(), "", System.lineSeparator()));
+        assertEquals(expected, write(ResultFormat.TEXT));
+    }
+
+    @Test
+    public void shouldWriteTheOutcomesAsCsv() throws IOException {
+        String expected = String.join(System.lineSeparator(),
+                "auction,reserve_price,status,winner,winning_price,tied_bidders,tied_bid",
+                "auction0,5,WON,bidder0,5,,",
+                "auction1,50,RESERVE_PRICE_NOT_REACHED,,,,",
+                "auction2,5,TIE,,,bidder0;bidder1,8",
+                "auction3,5,NO_BIDDERS,,,,",
+                "auction4,0,NON_POSITIVE_WINNING_PRICE,,,,") + System.lineSeparator();
+        assertEquals(expected, write(ResultFormat.CSV));
+    }
+
+    @Test
+    public void shouldWriteTheOutcomesAsJsonLines() throws IOException {
+        String expected = String.join(System.lineSeparator(),
+                "{\"auction\":\"auction0\",\"reservePrice\":5,\"status\":\"WON\",\"winner\":\"bidder0\",\"winningPrice\":5}",
+                "{\"auction\":\"auction1\",\"reservePrice\":50,\"status\":\"RESERVE_PRICE_NOT_REACHED\"}",
+                "{\"auction\":\"auction2\",\"reservePrice\":5,\"status\":\"TIE\",\"tiedBidders\":[\"bidder0\",\"bidder1\"],\"tiedBid\":8}",
+                "{\"auction\":\"auction3\",\"reservePrice\":5,\"status\":\"NO_BIDDERS\"}",
+                "{\"auction\":\"auction4\",\"reservePrice\":0,\"status\":\"NON_POSITIVE_WINNING_PRICE\"}") + System.lineSeparator();
+        assertEquals(expected, write(ResultFormat.JSON));
+    }
+
+    @Test
+    public void shouldWriteTheReservePriceOfTheTextOutcomesOfASweep() throws IOException {
+        StringWriter text = new StringWriter();
+        StringWriter csv = new StringWriter();
+        try (ResultSink textSink = new WriterResultSink(text, ResultFormat.TEXT); ResultSink csvSink = new WriterResultSink(csv, ResultFormat.CSV)) {
+            for (AuctionOutcome outcome : OUTCOMES) {
+                textSink.writeSweepOutcome(outcome);
+                csvSink.writeSweepOutcome(outcome);
+            }
+        }
+        String expectedText = String.join(System.lineSeparator(),
+                "The auction 'auction0' were won by 'bidder0' at the price of '5' for the reserve price '5'",
+                "The auction 'auction1' is cancelled because the reserve price '50' has not been reached",
+                "The auction 'auction2' is cancelled because bidders 'bidder0, bidder1' had the same bid : '8' for the reserve price '5'",
+                "No bidders, the auction is cancelled for the reserve price '5'",
+                "The auction 'auction4' is cancelled because the winning price must be > 0. Please check your data for the reserve price '0'")
+                + System.lineSeparator();
+        assertEquals(expectedText, text.toString());
+        assertEquals(write(ResultFormat.CSV), csv.toString());
+    }
+
+    @Test
+    public void shouldEscapeTheNamesHoldingSpecialCharacters() throws IOException {
+        AuctionOutcome outcome = new Auction("a,\"b\"", -3, List.of()).evaluate();
+        StringWriter csv = new StringWriter();
+        StringWriter json = new StringWriter();
+        try (ResultSink csvSink = new WriterResultSink(csv, ResultFormat.CSV); ResultSink jsonSink = new WriterResultSink(json, ResultFormat.JSON)) {
+            csvSink.write(outcome);
+            jsonSink.write(outcome);
+        }
+        assertTrue(csv.toString().contains("\"a,\"\"b\"\"\",-3,NO_BIDDERS"));
+        assertTrue(json.toString().startsWith("{\"auction\":\"a,\\\"b\\\"\",\"reservePrice\":-3"));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheFormatIsUnknown() {
+        Exception exception = assertThrows(FunctionalException.class, () -> ResultFormat.of("xml"));
+        assertTrue(exception.getMessage().contains("Unknown format 'xml'"));
+    }
+
+    private static String write(ResultFormat format) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (ResultSink sink = new WriterResultSink(writer, format)) {
+            sink.writeAll(OUTCOMES);
+        }
+        return writer.toString();
+    }
+}
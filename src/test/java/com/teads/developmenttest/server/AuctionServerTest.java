@@ -0,0 +1,89 @@
+package com.teads.developmenttest.server;
+
+import com.teads.developmenttest.output.ResultFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionServerTest {
+
+    @Test
+    public void shouldAnswerEachAuctionAsSoonAsItsBlockIsClosed() throws IOException {
+        try (AuctionServer server = new AuctionServer(0, 2, ResultFormat.TEXT);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             BufferedReader results = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            OutputStream output = socket.getOutputStream();
+
+            output.write("auction0: 10\nbidder0: 8, 12\nbidder1: 11\n#_#\n".getBytes(StandardCharsets.UTF_8));
+            output.flush();
+            assertEquals("The auction 'auction0' were won by 'bidder0' at the price of '11'", results.readLine());
+
+            output.write("auction1: 10\nbid$der0: 8\n#_#\nauction2: 20\nbidder0: 8\n".getBytes(StandardCharsets.UTF_8));
+            socket.shutdownOutput();
+            assertEquals("ERROR: The bid 'bid$der0:8' didn't match the input format: 'bidder_name:bid0,Bid1...' ex: 'myself:10,20,30", results.readLine());
+            assertEquals("The auction 'auction2' is cancelled because the reserve price '20' has not been reached", results.readLine());
+            assertNull(results.readLine());
+        }
+    }
+
+    @Test
+    public void shouldCloseAnEmptyConnectionWithoutAnswer() throws IOException {
+        try (AuctionServer server = new AuctionServer(0, 2, ResultFormat.TEXT);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             BufferedReader results = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            socket.shutdownOutput();
+            assertNull(results.readLine());
+        }
+    }
+
+    @Test
+    public void shouldCloseAnIdleConnection() throws IOException {
+        try (AuctionServer server = new AuctionServer(0, 1, ResultFormat.TEXT, 200);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             BufferedReader results = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            socket.setSoTimeout(10_000);
+            socket.getOutputStream().write("auction0: 10\nbidder0: 12\n#_#\nauction1: 10\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals("The auction 'auction0' were won by 'bidder0' at the price of '10'", results.readLine());
+            // the incomplete auction is dropped with the connection
+            assertNull(results.readLine());
+        }
+    }
+
+    @Test
+    public void shouldRefuseTheConnectionsBeyondTheMaximum() throws IOException {
+        try (AuctionServer server = new AuctionServer(0, 1, ResultFormat.TEXT);
+             Socket served = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             BufferedReader servedResults = new BufferedReader(new InputStreamReader(served.getInputStream(), StandardCharsets.UTF_8))) {
+            // the answer shows that the first connection holds the only thread
+            served.getOutputStream().write("auction0: 10\nbidder0: 12\n#_#\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals("The auction 'auction0' were won by 'bidder0' at the price of '10'", servedResults.readLine());
+
+            for (int i = 0; i < 3; i++) {
+                try (Socket refused = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                     BufferedReader refusedResults = new BufferedReader(new InputStreamReader(refused.getInputStream(), StandardCharsets.UTF_8))) {
+                    refused.setSoTimeout(10_000);
+                    assertEquals("ERROR: The server is busy, all its connections are in use", refusedResults.readLine());
+                    assertNull(refusedResults.readLine());
+                }
+            }
+
+            served.getOutputStream().write("auction1: 10\nbidder0: 8\n#_#\n".getBytes(StandardCharsets.UTF_8));
+            assertEquals("The auction 'auction1' is cancelled because the reserve price '10' has not been reached", servedResults.readLine());
+        }
+    }
+
+    @Test
+    public void shouldAnswerEveryPipelinedAuctionOfSeveralConnections() throws Exception {
+        try (AuctionServer server = new AuctionServer(0, 4, ResultFormat.JSON)) {
+            assertEquals(4 * 2000, LoadGeneratorClient.run(server.getPort(), 4, 2000, 5));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.teads.developmenttest.shard;
+
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.exception.technical.TechnicalException;
+import com.teads.developmenttest.output.ResultFormat;
+import com.teads.developmenttest.output.WriterResultSink;
+import com.teads.developmenttest.util.AuctionReader;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardCoordinatorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @SneakyThrows
+    public void shouldMergeTheResultsOfTheWorkersInTheOrderOfTheInputs() {
+        String first = auctions(0, 3000);
+        String second = auctions(3000, 500);
+        Path firstFile = write("first.txt", first);
+        Path secondFile = write("second.txt", second);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ShardCoordinator(4, 0, ResultFormat.CSV, List.of(), List.of()).run(List.of(firstFile, secondFile), output);
+
+        assertEquals(evaluate(first + second), output.toString(Charset.defaultCharset()));
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldSplitTheInputsInProportionToTheirSize() {
+        Path firstFile = write("first.txt", auctions(0, 3000));
+        Path secondFile = write("second.txt", auctions(3000, 1000));
+
+        List<Shard> shards = ShardCoordinator.split(List.of(firstFile, secondFile), 4);
+
+        assertEquals(4, shards.size());
+        assertEquals(0, part(shards, 0).getStart());
+        assertEquals(part(shards, 0).getEnd(), part(shards, 1).getStart());
+        assertEquals(Files.size(firstFile), part(shards, 2).getEnd());
+        assertEquals(new Shard(3, List.of(new ShardPart(secondFile, 0, Files.size(secondFile)))), shards.get(3));
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldNotMakeMoreShardsThanAsked() {
+        List<Path> equalFiles = List.of(write("a.txt", auctions(0, 100)), write("b.txt", auctions(100, 100)), write("c.txt", auctions(200, 100)));
+        assertEquals(5, ShardCoordinator.split(equalFiles, 5).size());
+
+        List<Path> smallFiles = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            smallFiles.add(write("small" + i + ".txt", auctions(i, 1)));
+        }
+        List<Shard> shards = ShardCoordinator.split(smallFiles, 4);
+        assertEquals(4, shards.size());
+        // the files keep their order across the shards
+        List<Path> covered = new ArrayList<>();
+        shards.forEach(shard -> shard.getParts().forEach(part -> covered.add(part.getInput())));
+        assertEquals(smallFiles, covered);
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldMergeTheResultsOfShardsHoldingSeveralFiles() {
+        StringBuilder input = new StringBuilder();
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            String content = auctions(i * 10, i % 3 == 0 ? 200 : 10);
+            input.append(content);
+            files.add(write("file" + i + ".txt", content));
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ShardCoordinator(3, 0, ResultFormat.CSV, List.of(), List.of()).run(files, output);
+
+        assertEquals(evaluate(input.toString()), output.toString(Charset.defaultCharset()));
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldThrowTheMalformedAuctionOfAWorker() {
+        Path file = write("input.txt", auctions(0, 100) + "auction100: 10\nbid$der0: 8\n#_#\n");
+
+        Exception exception = assertThrows(FunctionalException.class,
+                () -> new ShardCoordinator(2, 2, ResultFormat.TEXT, List.of(), List.of()).run(List.of(file), new ByteArrayOutputStream()));
+        assertTrue(exception.getMessage().contains("The bid 'bid$der0:8' didn't match the input format"));
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldThrowExceptionWhenAWorkerFailsAfterItsRetries() {
+        Path file = write("input.txt", auctions(0, 10));
+
+        Exception exception = assertThrows(TechnicalException.class,
+                () -> new ShardCoordinator(1, 1, ResultFormat.TEXT, List.of("-XX:+NotAnOption"), List.of()).run(List.of(file), new ByteArrayOutputStream()));
+        assertTrue(exception.getMessage().contains("failed 2 times"));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheInputIsEmpty() {
+        Path file = write("input.txt", "");
+
+        Exception exception = assertThrows(FunctionalException.class, () -> ShardCoordinator.split(List.of(file), 2));
+        assertTrue(exception.getMessage().contains("is empty"));
+    }
+
+    private static ShardPart part(List<Shard> shards, int index) {
+        return shards.get(index).getParts().get(0);
+    }
+
+    private static String auctions(int first, int count) {
+        StringBuilder input = new StringBuilder();
+        for (int i = first; i < first + count; i++) {
+            input.append("auction").append(i).append(": ").append(i % 7 == 0 ? 1000 : 10).append('\n')
+                    .append("bidder0: ").append(i % 50).append(", 12\n")
+                    .append("bidder1: ").append(i % 31).append('\n')
+                    .append("#_#\n");
+        }
+        return input.toString();
+    }
+
+    @SneakyThrows
+    private static String evaluate(String input) {
+        StringWriter output = new StringWriter();
+        try (AuctionReader reader = new AuctionReader("input", new StringReader(input));
+             WriterResultSink sink = new WriterResultSink(output, ResultFormat.CSV)) {
+            reader.forEachRemaining(auction -> sink.write(auction.evaluate()));
+        }
+        return output.toString();
+    }
+
+    @SneakyThrows
+    private Path write(String name, String content) {
+        return Files.write(directory.resolve(name), content.getBytes(StandardCharsets.US_ASCII));
+    }
+}
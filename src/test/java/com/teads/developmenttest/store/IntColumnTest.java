@@ -0,0 +1,40 @@
+package com.teads.developmenttest.store;
+
+import com.teads.developmenttest.exception.technical.TechnicalException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntColumnTest {
+
+    @Test
+    public void shouldGrowUpToItsMaximumCapacity() {
+        IntColumn column = new IntColumn(16, 40);
+        for (int i = 0; i < 40; i++) {
+            column.add(i);
+        }
+        assertEquals(40, column.size());
+        assertEquals(39, column.get(39));
+        assertEquals(40L * Integer.BYTES, column.getAllocatedBytes());
+
+        Exception exception = assertThrows(TechnicalException.class, () -> column.add(40));
+        assertTrue(exception.getMessage().contains("can't hold more than 40 values"));
+    }
+
+    @Test
+    public void shouldGrowTheBytesUpToTheirMaximumCapacity() {
+        ByteColumn column = new ByteColumn(16, 40);
+        column.add(new byte[30]);
+        column.add(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+        assertEquals(40, column.size());
+        assertArrayEquals(new byte[]{9, 10}, column.get(38, 2));
+
+        Exception exception = assertThrows(TechnicalException.class, () -> column.add(new byte[1]));
+        assertTrue(exception.getMessage().contains("can't hold more than 40 bytes"));
+    }
+
+    @Test
+    public void shouldKeepTheBytesOfADirectBufferUnderItsLimit() {
+        assertTrue((long) IntColumn.MAX_CAPACITY * Integer.BYTES <= Integer.MAX_VALUE - 8);
+    }
+}
@@ -0,0 +1,74 @@
+package com.teads.developmenttest.store;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.Bidder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapAuctionStoreTest {
+
+    @Test
+    public void shouldReturnViewsEqualToTheStoredAuctions() {
+        List<Auction> auctions = randomAuctions(300);
+        OffHeapAuctionStore store = new OffHeapAuctionStore(4);
+        auctions.forEach(store::add);
+
+        assertEquals(auctions.size(), store.size());
+        for (int i = 0; i < auctions.size(); i++) {
+            assertEquals(auctions.get(i), store.view(i));
+        }
+        assertTrue(store.getAllocatedBytes() > 0);
+    }
+
+    @Test
+    public void shouldEvaluateLikeTheAuctions() {
+        List<Auction> auctions = randomAuctions(2000);
+        OffHeapAuctionStore store = OffHeapAuctionStore.of(auctions.iterator());
+
+        for (int i = 0; i < auctions.size(); i++) {
+            assertEquals(auctions.get(i).evaluate(), store.evaluate(i));
+        }
+    }
+
+    @Test
+    public void shouldKeepTheAuctionNamesOfAnyCharacters() {
+        OffHeapAuctionStore store = new OffHeapAuctionStore(1);
+        store.add(new Auction("enchère_été", 1, List.of()));
+        store.add(new Auction("", 1, List.of()));
+        store.add(new Auction("auction2", 1, List.of()));
+
+        assertEquals("enchère_été", store.view(0).getName());
+        assertEquals("", store.view(1).getName());
+        assertEquals("auction2", store.evaluate(2).getAuctionName());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheIndexIsOutOfBounds() {
+        OffHeapAuctionStore store = new OffHeapAuctionStore();
+        store.add(new Auction("auction0", 1, List.of()));
+        Exception exception = assertThrows(IndexOutOfBoundsException.class, () -> store.evaluate(1));
+        assertTrue(exception.getMessage().contains("out of bounds for 1 auctions"));
+    }
+
+    private static List<Auction> randomAuctions(int count) {
+        Random random = new Random(11);
+        List<Auction> auctions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Bidder> bidders = new ArrayList<>();
+            for (int j = random.nextInt(6); j > 0; j--) {
+                List<Integer> bids = new ArrayList<>();
+                for (int k = random.nextInt(4); k > 0; k--) {
+                    bids.add(random.nextInt(30) - 2);
+                }
+                bidders.add(new Bidder("bidder" + random.nextInt(5), bids));
+            }
+            auctions.add(new Auction("auction" + i, random.nextInt(20), bidders));
+        }
+        return auctions;
+    }
+}
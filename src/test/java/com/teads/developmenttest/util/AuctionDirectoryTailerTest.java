@@ -0,0 +1,168 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.output.ResultSink;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionDirectoryTailerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @SneakyThrows
+    public void shouldEvaluateOnlyTheBlocksClosedSinceThePreviousPoll() {
+        Path file = directory.resolve("auctions.txt");
+        append(file, "auction0: 10\nbidder0: 12\n#_#\nauction1: 10\nbid");
+        CollectingSink sink = new CollectingSink();
+        try (AuctionDirectoryTailer tailer = new AuctionDirectoryTailer(directory, "*.txt", false, sink)) {
+            assertEquals(1, tailer.poll());
+            assertEquals(0, tailer.poll());
+
+            append(file, "der0: 11\n#");
+            assertEquals(0, tailer.poll());
+
+            append(file, "_#\nauction2: 10\nbid$der0: 8\n#_#\nauction3: 20\nbidder0: 25\n#_#");
+            assertEquals(2, tailer.poll());
+        }
+        assertEquals(List.of("auction0", "auction1", "auction3"), sink.names());
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldFindTheLastSeparatorBeforeALargeIncompleteBlock() {
+        Path file = directory.resolve("auctions.txt");
+        StringBuilder bids = new StringBuilder("bidder0: 1");
+        while (bids.length() < 200_000) {
+            bids.append(",1");
+        }
+        append(file, "auction0: 10\nbidder0: 12\n#_#\nauction1: 10\n" + bids);
+        CollectingSink sink = new CollectingSink();
+        try (AuctionDirectoryTailer tailer = new AuctionDirectoryTailer(directory, "*", false, sink)) {
+            assertEquals(1, tailer.poll());
+
+            append(file, "\n#_#");
+            assertEquals(1, tailer.poll());
+        }
+        assertEquals(List.of("auction0", "auction1"), sink.names());
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldNotReadARotatedFileAgain() {
+        Path file = directory.resolve("auctions.txt");
+        append(file, "auction0: 10\nbidder0: 12\n#_#\n");
+        CollectingSink sink = new CollectingSink();
+        try (AuctionDirectoryTailer tailer = new AuctionDirectoryTailer(directory, "*", false, sink)) {
+            assertEquals(1, tailer.poll());
+
+            Files.move(file, directory.resolve("auctions.txt.1"));
+            append(directory.resolve("auctions.txt.1"), "auction1: 10\nbidder0: 12\n#_#\n");
+            append(file, "auction2: 10\nbidder0: 12\n#_#\n");
+            assertEquals(2, tailer.poll());
+        }
+        assertEquals(List.of("auction0", "auction1", "auction2"), sink.names());
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldReadATruncatedFileFromItsStart() {
+        Path file = directory.resolve("auctions.txt");
+        append(file, "auction0: 10\nbidder0: 12\n#_#\nauction1: 10\nbidder0: 12\n#_#\n");
+        CollectingSink sink = new CollectingSink();
+        try (AuctionDirectoryTailer tailer = new AuctionDirectoryTailer(directory, "*", false, sink)) {
+            assertEquals(2, tailer.poll());
+
+            Files.write(file, "auction2: 10\nbidder0: 12\n#_#\n".getBytes(StandardCharsets.US_ASCII), StandardOpenOption.TRUNCATE_EXISTING);
+            assertEquals(1, tailer.poll());
+        }
+        assertEquals(List.of("auction0", "auction1", "auction2"), sink.names());
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldSkipTheExistingBlocksFromTheEnd() {
+        Path file = directory.resolve("auctions.txt");
+        append(file, "auction0: 10\nbidder0: 12\n#_#\nauction1: 10\n");
+        CollectingSink sink = new CollectingSink();
+        try (AuctionDirectoryTailer tailer = new AuctionDirectoryTailer(directory, "*", true, sink)) {
+            append(file, "bidder0: 12\n#_#\n");
+            append(directory.resolve("new.txt"), "auction2: 10\nbidder0: 12\n#_#\n");
+            assertEquals(2, tailer.poll());
+        }
+        assertEquals(List.of("auction1", "auction2"), sink.names().stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldEvaluateTheAppendedBlocksUntilClosed() {
+        Path file = directory.resolve("auctions.txt");
+        CollectingSink sink = new CollectingSink();
+        AuctionDirectoryTailer tailer = new AuctionDirectoryTailer(directory, "*", false, sink);
+        Thread thread = new Thread(() -> {
+            try {
+                tailer.run();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+
+        append(file, "auction0: 10\nbidder0: 12\n#_#\n");
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (sink.names().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        tailer.close();
+        thread.join(10_000);
+
+        assertFalse(thread.isAlive());
+        assertEquals(List.of("auction0"), sink.names());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheDirectoryDoesNotExist() {
+        Exception exception = assertThrows(FunctionalException.class,
+                () -> new AuctionDirectoryTailer(directory.resolve("missing"), "*", false, new CollectingSink()));
+        assertTrue(exception.getMessage().contains("doesn't exist"));
+    }
+
+    @SneakyThrows
+    private static void append(Path file, String content) {
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static class CollectingSink implements ResultSink {
+        private final List<AuctionOutcome> outcomes = new ArrayList<>();
+
+        @Override
+        public synchronized void write(AuctionOutcome outcome) {
+            outcomes.add(outcome);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private synchronized List<String> names() {
+            return outcomes.stream().map(AuctionOutcome::getAuctionName).collect(Collectors.toList());
+        }
+    }
+}
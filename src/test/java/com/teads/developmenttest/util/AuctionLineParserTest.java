@@ -0,0 +1,77 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionLineParserTest {
+
+    private static final List<String> AUCTION_LINES = List.of(
+            "auction0: 10", " auction_0 :1 0 ", "a:0", "auction0:", "auction0:-1", "auction0:1e", "auct&ion0: 1",
+            ":10", "auction0 10", "auction0:10,12", "auction0::10", "\tauc tion0\t:\t7\t");
+
+    private static final List<String> BID_LINES = List.of(
+            "bidder0: 8, 10", "bidder0:", "bidder0: ,5", "bidder0: 5,", "bidder0: 5,,6", "bidder0: ,", "bidder0: 10, -14",
+            "bidder0: 56t", "bid$der0: 56", "bidder0: 5 6", " bid der0 : 1 , 2 ,3 ", ": 5", "bidder0 5", "bidder0:5:6");
+
+    @Test
+    public void shouldAcceptTheSameAuctionLinesAsTheRegularExpression() {
+        AuctionLineParser lineParser = new AuctionLineParser();
+        for (String line : AUCTION_LINES) {
+            String formattedLine = line.replaceAll("\\s", "");
+            if (formattedLine.matches(ReaderUtil.AUCTION_FORMAT_REG_EX)) {
+                lineParser.parseAuctionLine(line);
+                assertEquals(formattedLine.substring(0, formattedLine.indexOf(':')), lineParser.getName(), line);
+                assertEquals(Integer.parseInt(formattedLine.substring(formattedLine.indexOf(':') + 1)), lineParser.getReservePrice(), line);
+            } else {
+                Exception exception = assertThrows(FunctionalException.class, () -> lineParser.parseAuctionLine(line), line);
+                assertTrue(exception.getMessage().contains("The auction '" + formattedLine + "' didn't match the input format"));
+            }
+        }
+    }
+
+    @Test
+    public void shouldAcceptTheSameBidLinesAsTheRegularExpression() {
+        AuctionLineParser lineParser = new AuctionLineParser();
+        for (String line : BID_LINES) {
+            String formattedLine = line.replaceAll("\\s", "");
+            if (formattedLine.matches(ReaderUtil.BID_FORMAT_REG_EX)) {
+                lineParser.parseBidLine(line);
+                assertEquals(formattedLine.substring(0, formattedLine.indexOf(':')), lineParser.getName(), line);
+                String[] expectedBids = formattedLine.substring(formattedLine.indexOf(':') + 1).replaceFirst("^,", "").split(",");
+                int expectedCount = expectedBids[0].isEmpty() ? 0 : expectedBids.length;
+                assertEquals(expectedCount, lineParser.getBidCount(), line);
+                for (int i = 0; i < expectedCount; i++) {
+                    assertEquals(Integer.parseInt(expectedBids[i]), lineParser.getBid(i), line);
+                }
+            } else {
+                Exception exception = assertThrows(FunctionalException.class, () -> lineParser.parseBidLine(line), line);
+                assertTrue(exception.getMessage().contains("The bid '" + formattedLine + "' didn't match the input format"));
+            }
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenAValueDoesNotFitInAnInt() {
+        AuctionLineParser lineParser = new AuctionLineParser();
+        Exception exception = assertThrows(FunctionalException.class, () -> lineParser.parseAuctionLine("auction0: 2147483648"));
+        assertTrue(exception.getMessage().contains("The auction 'auction0:2147483648' didn't match the input format"));
+        exception = assertThrows(FunctionalException.class, () -> lineParser.parseBidLine("bidder0: 1, 99999999999"));
+        assertTrue(exception.getMessage().contains("The bid 'bidder0:1,99999999999' didn't match the input format"));
+        lineParser.parseBidLine("bidder0: 2147483647");
+        assertEquals(Integer.MAX_VALUE, lineParser.getBid(0));
+    }
+
+    @Test
+    public void shouldParseALineRange() {
+        AuctionLineParser lineParser = new AuctionLineParser();
+        String line = "xx bidder1: 10, 12 yy";
+        lineParser.parseBidLine(line, 3, line.length() - 3);
+        assertEquals("bidder1", lineParser.getName());
+        assertEquals(2, lineParser.getBidCount());
+        assertEquals(12, lineParser.getBid(1));
+    }
+}
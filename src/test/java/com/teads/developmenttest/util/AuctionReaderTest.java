@@ -0,0 +1,103 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.entity.Bidder;
+import com.teads.developmenttest.entity.BidderDictionary;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuctionReaderTest {
+
+    @Test
+    public void shouldReadTheSameAuctionsAsReaderUtil() {
+        String input = "auction0: 10\n" +
+                "bidder0:8,10\n" +
+                "bidder1: 10  ,       12\n" +
+                "#_#\n" +
+                "\n" +
+                "auction1:     20     \n" +
+                "bidder0:       8    ,              12\n" +
+                "bidder1:\n" +
+                "bidder2: 12,18\n" +
+                "#_#  #_#       #_#      #_#\n" +
+                "#_#\n" +
+                "#_#";
+        List<Auction> expected = ReaderUtil.convertToEntityList(ReaderUtil.validateAndFormatInput(input));
+        List<Auction> actual = new AuctionReader("input", new StringReader(input)).stream().collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldSplitAuctionsWhenTheSeparatorIsInTheMiddleOfALine() {
+        String input = "auction0: 10\n" +
+                "bidder0: 8, 10 #_# auction1: 20\n" +
+                "bidder0: 8#_#auction2: 5";
+        List<Auction> actual = new AuctionReader("input", new StringReader(input)).stream().collect(Collectors.toList());
+        Auction auction0 = new Auction("auction0", 10, List.of(new Bidder("bidder0", List.of(8, 10))));
+        Auction auction1 = new Auction("auction1", 20, List.of(new Bidder("bidder0", List.of(8))));
+        Auction auction2 = new Auction("auction2", 5, Collections.emptyList());
+        assertEquals(List.of(auction0, auction1, auction2), actual);
+    }
+
+    @Test
+    public void shouldReturnEachAuctionAsSoonAsItsBlockIsComplete() {
+        String input = "auction0: 10\n" +
+                "bidder0: 8, 10\n" +
+                "#_#\n" +
+                "auction1:1e";
+        AuctionReader reader = new AuctionReader("input", new StringReader(input));
+        assertEquals("auction0", reader.next().getName());
+        Exception exception = assertThrows(FunctionalException.class, reader::next);
+        assertTrue(exception.getMessage().contains("The auction 'auction1:1e' didn't match the input format"));
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void shouldGoOnReadingAfterAMalformedAuction() {
+        String input = "auction0: 10\n" +
+                "bid$der0: 56\n" +
+                "#_#\n" +
+                "auction1: 20\n" +
+                "bidder0: 8";
+        AuctionReader reader = new AuctionReader("input", new StringReader(input));
+        Exception exception = assertThrows(FunctionalException.class, reader::next);
+        assertTrue(exception.getMessage().contains("The bid 'bid$der0:56' didn't match the input format"));
+        assertEquals("auction1", reader.next().getName());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void shouldShareTheBidderIdentitiesAcrossAuctions() {
+        String input = "auction0: 10\n" +
+                "bidder0: 8, 10\n" +
+                "bidder1: 10, 12\n" +
+                "#_#\n" +
+                "auction1: 20\n" +
+                "bidder1: 8\n" +
+                "bid der0: 8";
+        BidderDictionary dictionary = new BidderDictionary();
+        List<Auction> auctions = new AuctionReader("input", new StringReader(input), dictionary).stream().collect(Collectors.toList());
+        assertEquals(2, dictionary.size());
+        assertSame(auctions.get(0).getBidders().get(0).getIdentity(), auctions.get(1).getBidders().get(1).getIdentity());
+        assertSame(auctions.get(0).getBidders().get(1).getIdentity(), auctions.get(1).getBidders().get(0).getIdentity());
+        assertSame(dictionary.get(1), auctions.get(1).getBidders().get(0).getIdentity());
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldThrowExceptionWhenAllLinesAreEmpty() {
+        final String inputFileName = "data/inputWithOnlyEmptyLines.txt";
+        try (AuctionReader reader = AuctionReader.open(inputFileName)) {
+            Exception exception = assertThrows(FunctionalException.class, reader::hasNext);
+            assertTrue(exception.getMessage().contains("File '" + inputFileName + "' is empty"));
+        }
+    }
+}
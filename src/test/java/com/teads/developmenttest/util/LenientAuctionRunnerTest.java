@@ -0,0 +1,187 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.AuctionOutcome;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import com.teads.developmenttest.output.ResultFormat;
+import com.teads.developmenttest.output.ResultSink;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LenientAuctionRunnerTest {
+
+    private static final String INPUT = "auction0: 10\nbidder0: 12\n#_#\n" +
+            "auction1: 1e\nbidder0: 12\n#_#\n" +
+            "auction2: 10\nbidder0: 15\nbidder1: 11\n#_#\n" +
+            "auction3: 10\nbidder0: 1,,2\n#_#\n" +
+            "auction4: 5\nbidder0: 6";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @SneakyThrows
+    public void shouldSkipAndRecordTheMalformedAuctions() {
+        Path input = write(INPUT);
+        Path errors = directory.resolve("errors.txt");
+        CollectingSink sink = new CollectingSink();
+
+        AuctionCheckpoint checkpoint = new LenientAuctionRunner(input, errors, null, 2).run(sink);
+
+        assertEquals(List.of("auction0", "auction2", "auction4"), sink.names());
+        assertEquals(3, checkpoint.getAuctionCount());
+        assertEquals(2, checkpoint.getErrorCount());
+        assertEquals(Files.size(input), checkpoint.getOffset());
+        List<String> errorLines = Files.readAllLines(errors);
+        assertEquals(2, errorLines.size());
+        assertTrue(errorLines.get(0).startsWith("bytes 28-57: "));
+        assertTrue(errorLines.get(0).contains("The auction 'auction1:1e' didn't match the input format"));
+        assertTrue(errorLines.get(1).contains("The bid 'bidder0:1,,2' didn't match the input format"));
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldResumeAfterTheLastCheckpoint() {
+        Path input = write(INPUT);
+        Path errors = directory.resolve("errors.txt");
+        Path checkpointFile = directory.resolve("run.checkpoint");
+
+        // the run is interrupted while writing the result of auction2, the checkpoint covers auction0 and auction1
+        CollectingSink failingSink = new CollectingSink(1);
+        assertThrows(IllegalStateException.class, () -> new LenientAuctionRunner(input, errors, checkpointFile, 1).run(failingSink));
+        AuctionCheckpoint interrupted = AuctionCheckpoint.readOrStart(checkpointFile, input);
+        assertEquals(1, interrupted.getAuctionCount());
+        assertEquals(1, interrupted.getErrorCount());
+
+        CollectingSink sink = new CollectingSink();
+        AuctionCheckpoint checkpoint = new LenientAuctionRunner(input, errors, checkpointFile, 1).run(sink);
+
+        assertEquals(List.of("auction2", "auction4"), sink.names());
+        assertEquals(3, checkpoint.getAuctionCount());
+        assertEquals(2, checkpoint.getErrorCount());
+        assertEquals(checkpoint, AuctionCheckpoint.readOrStart(checkpointFile, input));
+        assertEquals(2, Files.readAllLines(errors).size());
+
+        // a finished run has nothing left to evaluate
+        CollectingSink emptySink = new CollectingSink();
+        assertEquals(checkpoint, new LenientAuctionRunner(input, errors, checkpointFile, 1).run(emptySink));
+        assertTrue(emptySink.outcomes.isEmpty());
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldWriteEachResultAndErrorOnceWhenResuming() {
+        Path expectedOutput = directory.resolve("expected.csv");
+        Path expectedErrors = directory.resolve("expected.errors");
+        new LenientAuctionRunner(write(INPUT), expectedErrors, null, 1).run(expectedOutput, ResultFormat.CSV);
+
+        // the first run stops after auction1, then writes results and errors which its checkpoint doesn't cover
+        String firstPart = INPUT.substring(0, INPUT.indexOf("auction2"));
+        Path input = write(firstPart);
+        Path output = directory.resolve("output.csv");
+        Path errors = directory.resolve("errors.txt");
+        Path checkpointFile = directory.resolve("run.checkpoint");
+        new LenientAuctionRunner(input, errors, checkpointFile, 1).run(output, ResultFormat.CSV);
+        Files.write(output, "auction2,10,WON,bidder0,11,,\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Files.write(errors, "bytes 85-113: duplicate\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        Files.write(input, INPUT.substring(firstPart.length()).getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+        AuctionCheckpoint checkpoint = new LenientAuctionRunner(input, errors, checkpointFile, 1).run(output, ResultFormat.CSV);
+
+        assertEquals(Files.readString(expectedOutput), Files.readString(output));
+        assertEquals(Files.readString(expectedErrors), Files.readString(errors));
+        assertEquals(3, checkpoint.getAuctionCount());
+        assertEquals(Files.size(output), checkpoint.getOutputLength());
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldThrowExceptionWhenTheOutputIsShorterThanItsCheckpoint() {
+        Path input = write(INPUT);
+        Path output = directory.resolve("output.csv");
+        Path checkpointFile = directory.resolve("run.checkpoint");
+        new AuctionCheckpoint(input.toAbsolutePath().toString(), 28, 1, 0, 100, 0).write(checkpointFile);
+
+        Exception exception = assertThrows(FunctionalException.class,
+                () -> new LenientAuctionRunner(input, directory.resolve("errors.txt"), checkpointFile, 1).run(output, ResultFormat.CSV));
+        assertTrue(exception.getMessage().contains("is shorter than its checkpoint"));
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldThrowExceptionWhenTheCheckpointBelongsToAnotherInput() {
+        Path checkpointFile = directory.resolve("run.checkpoint");
+        AuctionCheckpoint.start(directory.resolve("other.txt")).write(checkpointFile);
+
+        Exception exception = assertThrows(FunctionalException.class,
+                () -> AuctionCheckpoint.readOrStart(checkpointFile, directory.resolve("input.txt")));
+        assertTrue(exception.getMessage().contains("belongs to"));
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldThrowExceptionWhenTheFileIsNotACheckpoint() {
+        Path checkpointFile = write("offset=abc");
+
+        Exception exception = assertThrows(FunctionalException.class, () -> AuctionCheckpoint.readOrStart(checkpointFile, checkpointFile));
+        assertTrue(exception.getMessage().contains("is not a checkpoint"));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheCheckpointIntervalIsNotPositive() {
+        Exception exception = assertThrows(FunctionalException.class,
+                () -> new LenientAuctionRunner(directory.resolve("input.txt"), directory.resolve("errors.txt"), null, 0));
+        assertTrue(exception.getMessage().contains("must be > 0"));
+    }
+
+    @SneakyThrows
+    private Path write(String content) {
+        Path file = Files.createTempFile(directory, "input", ".txt");
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    private static class CollectingSink implements ResultSink {
+        private final List<AuctionOutcome> outcomes = new ArrayList<>();
+        private final int capacity;
+
+        CollectingSink() {
+            this(Integer.MAX_VALUE);
+        }
+
+        // fails once capacity outcomes are written
+        CollectingSink(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public void write(AuctionOutcome outcome) {
+            if (outcomes.size() == capacity) {
+                throw new IllegalStateException("Sink is full");
+            }
+            outcomes.add(outcome);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private List<String> names() {
+            return outcomes.stream().map(AuctionOutcome::getAuctionName).collect(Collectors.toList());
+        }
+    }
+}
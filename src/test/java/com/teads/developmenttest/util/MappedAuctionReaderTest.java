@@ -0,0 +1,94 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedAuctionReaderTest {
+
+    private static final String INPUT = "auction0: 10\r\n" +
+            "bidder0:8,10\r\n" +
+            "bidder1: 10  ,       12\n" +
+            "#_#\n" +
+            "\n" +
+            "auction1:     20     \n" +
+            "bidder0:       8    ,              12\n" +
+            "bidder1:\n" +
+            "bidder2: 12,18 #_# auction2: 5\n" +
+            "bid der3: 1 2\n" +
+            "#_#  #_#       #_#      #_#\n" +
+            "#_#\n" +
+            "#_#";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @SneakyThrows
+    public void shouldReadTheSameAuctionsAsTheStreamingReader() {
+        Path file = write(INPUT);
+        List<Auction> expected = readAll(new AuctionReader("input", new StringReader(INPUT)));
+        try (MappedAuctionReader reader = new MappedAuctionReader(file)) {
+            assertEquals(expected, readAll(reader));
+            assertEquals(Files.size(file), reader.getConsumedOffset());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldReadLinesSpanningSeveralWindows() {
+        Path file = write(INPUT);
+        List<Auction> expected = readAll(new AuctionReader("input", new StringReader(INPUT)));
+        try (MappedAuctionReader reader = new MappedAuctionReader(file, 0, -1, 48)) {
+            assertEquals(expected, readAll(reader));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldReadARangeOfTheFile() {
+        Path file = write(INPUT);
+        long start = INPUT.indexOf("#_#") + 3;
+        long end = INPUT.indexOf("auction2") - 4;
+        try (MappedAuctionReader reader = new MappedAuctionReader(file, start, end)) {
+            List<Auction> auctions = readAll(reader);
+            assertEquals(1, auctions.size());
+            assertEquals("auction1", auctions.get(0).getName());
+            assertEquals(3, auctions.get(0).getBidders().size());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldThrowExceptionWhenAllLinesAreEmpty() {
+        Path file = write(" \n\t\n   \n");
+        try (MappedAuctionReader reader = new MappedAuctionReader(file)) {
+            Exception exception = assertThrows(FunctionalException.class, reader::hasNext);
+            assertTrue(exception.getMessage().contains("is empty"));
+        }
+    }
+
+    @SneakyThrows
+    private Path write(String content) {
+        Path file = directory.resolve("auctions.txt");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static List<Auction> readAll(Iterator<Auction> reader) {
+        List<Auction> auctions = new ArrayList<>();
+        reader.forEachRemaining(auctions::add);
+        return auctions;
+    }
+}
@@ -0,0 +1,82 @@
+package com.teads.developmenttest.util;
+
+import com.teads.developmenttest.entity.Auction;
+import com.teads.developmenttest.exception.functional.FunctionalException;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelAuctionParserTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @SneakyThrows
+    public void shouldParseTheAuctionsInTheOrderOfTheFile() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            input.append("auction").append(i).append(": ").append(i % 13).append('\n');
+            for (int j = 0; j < i % 4; j++) {
+                input.append("bidder").append(j).append(": ").append(i).append(", ").append(j).append('\n');
+            }
+            input.append(i % 3 == 0 ? "#_#\n" : "  #_# #_#\n\n");
+        }
+        Path file = write(input.toString());
+        List<Auction> expected = new ArrayList<>();
+        new AuctionReader("input", new StringReader(input.toString())).forEachRemaining(expected::add);
+        for (int parallelism = 1; parallelism < 6; parallelism++) {
+            assertEquals(expected, ParallelAuctionParser.parse(file, parallelism));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldSplitTheFileRightAfterSeparators() {
+        String input = "auction0: 1\n#_#\nauction1: 2\nbidder0: 3\n#_#auction2: 4\n#_#";
+        Path file = write(input);
+        long[] offsets = AuctionFileSplitter.split(file, 3);
+        assertEquals(4, offsets.length);
+        assertEquals(0, offsets[0]);
+        assertEquals(input.length(), offsets[3]);
+        for (int i = 1; i < 3; i++) {
+            assertTrue(offsets[i] >= offsets[i - 1]);
+            assertTrue(offsets[i] == input.length() || input.startsWith("#_#", (int) offsets[i] - 3), "offset " + offsets[i]);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldReportTheFirstMalformedAuctionOfTheFile() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            input.append(i == 120 || i == 180 ? "auction" + i + ":1e\n#_#\n" : "auction" + i + ": 1\n#_#\n");
+        }
+        Path file = write(input.toString());
+        Exception exception = assertThrows(FunctionalException.class, () -> ParallelAuctionParser.parse(file, 4));
+        assertTrue(exception.getMessage().contains("The auction 'auction120:1e' didn't match the input format"));
+    }
+
+    @Test
+    @SneakyThrows
+    public void shouldThrowExceptionWhenAllLinesAreEmpty() {
+        Path file = write(" \n\t\n   \n\n\n\n     \n");
+        Exception exception = assertThrows(FunctionalException.class, () -> ParallelAuctionParser.parse(file, 3));
+        assertTrue(exception.getMessage().contains("is empty"));
+    }
+
+    @SneakyThrows
+    private Path write(String content) {
+        Path file = directory.resolve("auctions.txt");
+        Files.writeString(file, content);
+        return file;
+    }
+}